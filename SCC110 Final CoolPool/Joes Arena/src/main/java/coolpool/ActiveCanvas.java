@@ -0,0 +1,98 @@
+package coolpool;
+
+import java.awt.*;
+import java.awt.image.*;
+
+/**
+ * A Canvas that a GameArena draws onto itself, from its own thread, rather than waiting for Swing to paint it.
+ * Frames are drawn into an opaque VolatileImage, which the graphics card can hold, and shown through a BufferStrategy,
+ * which flips pages where the platform allows it. Only the parts of the VolatileImage that have changed are drawn again.
+ */
+public class ActiveCanvas extends Canvas
+{
+	private static final long serialVersionUID = 1L;
+
+	private GameArena arena;				// The arena drawn on this canvas
+	private BufferStrategy strategy;		// The buffers frames are shown through, or null until the canvas is on the screen
+	private VolatileImage back;				// The image frames are drawn into, or null until the canvas is on the screen
+
+	/**
+	 * Constructor. Creates an ActiveCanvas for the given GameArena.
+	 * @param arena the arena to draw.
+	 */
+	public ActiveCanvas(GameArena arena)
+	{
+		this.arena = arena;
+
+		// Keys are listened for on the window, so the canvas must not take the focus from it.
+		this.setFocusable(false);
+		this.setBackground(Color.BLACK);
+	}
+
+	/**
+	 * Brings the frame up to date and shows it. Called from the GameArena's thread.
+	 * @return true if a frame was shown, false if the canvas is not on the screen yet.
+	 */
+	public boolean present()
+	{
+		if (!this.isDisplayable() || this.getWidth() <= 0 || this.getHeight() <= 0)
+			return false;
+
+		if (strategy == null)
+		{
+			this.createBufferStrategy(2);
+			strategy = this.getBufferStrategy();
+		}
+
+		GraphicsConfiguration gc = this.getGraphicsConfiguration();
+
+		do
+		{
+			int status = back == null ? VolatileImage.IMAGE_INCOMPATIBLE : back.validate(gc);
+
+			if (status == VolatileImage.IMAGE_INCOMPATIBLE)
+			{
+				if (back != null)
+					back.flush();
+
+				back = gc.createCompatibleVolatileImage(arena.getArenaWidth(), arena.getArenaHeight(), Transparency.OPAQUE);
+				arena.useBuffer(back, back.createGraphics());
+			}
+			else if (status == VolatileImage.IMAGE_RESTORED)
+			{
+				arena.invalidateBuffer();
+			}
+
+			arena.drawBuffer();
+
+			// The page shown last may hold any earlier frame, so the whole image is copied onto it.
+			do
+			{
+				Graphics g = strategy.getDrawGraphics();
+				g.drawImage(back, 0, 0, null);
+				g.dispose();
+			}
+			while (strategy.contentsRestored());
+
+			strategy.show();
+		}
+		while (strategy.contentsLost() || back.contentsLost());
+
+		Toolkit.getDefaultToolkit().sync();
+		return true;
+	}
+
+	/**
+	 * Called by the system when part of the canvas has been uncovered. Asks the GameArena to show a whole frame,
+	 * rather than clearing the canvas and drawing it here.
+	 */
+	public void paint(Graphics g)
+	{
+		arena.repaintAll();
+	}
+
+	public void update(Graphics g)
+	{
+		this.paint(g);
+	}
+}
@@ -0,0 +1,132 @@
+package coolpool;
+
+import java.util.*;
+
+/**
+ * Keeps the live statistics of a GameArena, as each frame is drawn and each shot is played.
+ * Frames are reported by the thread drawing them and shots by whichever thread plays them; the statistics may be read from any thread.
+ */
+public class ArenaStatistics implements ArenaStatisticsMXBean
+{
+	private static final long SECOND = 1000000000L;		// One second, in nanoseconds
+
+	private DrawList things;							// The shapes drawn in the arena
+	private long created = System.nanoTime();			// The time the arena was created
+	private long frames;								// The number of frames drawn
+	private long windowStart = created;					// The time the current frame rate started being measured
+	private int windowFrames;							// The number of frames drawn since then
+	private double frameRate;							// The frame rate over the last whole second measured
+	private long shots;									// The number of shots played
+	private Histogram shotTimes = new Histogram();		// The time taken to simulate each shot, in nanoseconds. Guarded by this object's lock, like the counts
+	private long collisions;							// The number of collisions between balls, over every shot
+	private long pots;									// The number of balls potted, over every shot
+	private volatile boolean renderIdle;				// Set while the arena's thread waits for the scene to change
+
+	/**
+	 * Constructor. Creates the statistics of an arena drawing the given shapes.
+	 * @param things the shapes drawn in the arena.
+	 */
+	ArenaStatistics(DrawList things)
+	{
+		this.things = things;
+	}
+
+	/**
+	 * Records a frame that drew something.
+	 * @param now the time the frame was drawn, from System.nanoTime().
+	 */
+	synchronized void frameDrawn(long now)
+	{
+		frames++;
+		windowFrames++;
+
+		if (now - windowStart >= SECOND)
+		{
+			frameRate = windowFrames * (double) SECOND / (now - windowStart);
+			windowStart = now;
+			windowFrames = 0;
+		}
+	}
+
+	/**
+	 * Records a shot that has been played.
+	 * @param result everything that happened during the shot.
+	 */
+	synchronized void shotPlayed(ShotResult result)
+	{
+		shots++;
+		shotTimes.record(result.getSimulationTime());
+		collisions += result.count(ShotEvent.Type.COLLISION);
+		pots += result.count(ShotEvent.Type.POT);
+	}
+
+	/**
+	 * Records whether the arena's thread is waiting for the scene to change.
+	 * @param idle true while it waits, false once it has something to draw.
+	 */
+	void setRenderIdle(boolean idle)
+	{
+		this.renderIdle = idle;
+	}
+
+	public Map<Integer, Integer> getLayerSizes()
+	{
+		return things.getLayerSizes();
+	}
+
+	public int getObjectCount()
+	{
+		return things.size();
+	}
+
+	public synchronized double getFrameRate()
+	{
+		long elapsed = System.nanoTime() - windowStart;
+
+		// Once a second has gone by without the rate being measured, frames have stopped or slowed, so go by the frames drawn since.
+		if (elapsed >= SECOND)
+			return windowFrames * (double) SECOND / elapsed;
+
+		return frameRate;
+	}
+
+	public synchronized double getAverageFrameRate()
+	{
+		return frames * (double) SECOND / Math.max(1, System.nanoTime() - created);
+	}
+
+	public synchronized long getFramesDrawn()
+	{
+		return frames;
+	}
+
+	public synchronized long getShotsPlayed()
+	{
+		return shots;
+	}
+
+	public synchronized double getMeanShotTime()
+	{
+		return shotTimes.getMean() / 1e6;
+	}
+
+	public synchronized double getP99ShotTime()
+	{
+		return shotTimes.getPercentile(99) / 1e6;
+	}
+
+	public synchronized long getCollisions()
+	{
+		return collisions;
+	}
+
+	public synchronized long getPots()
+	{
+		return pots;
+	}
+
+	public boolean isRenderIdle()
+	{
+		return renderIdle;
+	}
+}
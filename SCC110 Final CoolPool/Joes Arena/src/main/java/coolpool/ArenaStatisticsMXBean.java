@@ -0,0 +1,77 @@
+package coolpool;
+
+import java.util.*;
+
+/**
+ * The live statistics of a GameArena, as seen through JMX. Every value is kept up to date as frames are drawn
+ * and shots are played, so reading one never walks the shapes in the arena.
+ * @see GameArena#registerStatistics()
+ */
+public interface ArenaStatisticsMXBean
+{
+	/**
+	 * Obtains the number of shapes on each layer.
+	 * @return the number of shapes, keyed by layer.
+	 */
+	public Map<Integer, Integer> getLayerSizes();
+
+	/**
+	 * Obtains the number of shapes in the arena.
+	 * @return the number of shapes, over all layers.
+	 */
+	public int getObjectCount();
+
+	/**
+	 * Obtains the current frame rate.
+	 * @return the number of frames drawn each second over the last second or so, or less if the arena has gone idle since.
+	 */
+	public double getFrameRate();
+
+	/**
+	 * Obtains the average frame rate.
+	 * @return the number of frames drawn each second since the arena was created, counting the time it has sat idle.
+	 */
+	public double getAverageFrameRate();
+
+	/**
+	 * Obtains the number of frames drawn.
+	 * @return the number of frames that drew something since the arena was created.
+	 */
+	public long getFramesDrawn();
+
+	/**
+	 * Obtains the number of shots played.
+	 * @return the number of shots.
+	 */
+	public long getShotsPlayed();
+
+	/**
+	 * Obtains the mean time taken to simulate a shot, not counting any time spent waiting between the frames of an animated shot.
+	 * @return the mean time, in milliseconds.
+	 */
+	public double getMeanShotTime();
+
+	/**
+	 * Obtains the 99th percentile of the time taken to simulate a shot.
+	 * @return the time that 99% of shots took no longer than, in milliseconds.
+	 */
+	public double getP99ShotTime();
+
+	/**
+	 * Obtains the number of collisions between balls.
+	 * @return the number of collisions, over every shot.
+	 */
+	public long getCollisions();
+
+	/**
+	 * Obtains the number of balls potted.
+	 * @return the number of pots, over every shot.
+	 */
+	public long getPots();
+
+	/**
+	 * Determines if the arena's thread is waiting for something in the scene to change.
+	 * @return true if the arena has nothing to draw, false otherwise.
+	 */
+	public boolean isRenderIdle();
+}
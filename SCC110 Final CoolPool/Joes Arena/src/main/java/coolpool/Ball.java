@@ -0,0 +1,410 @@
+package coolpool;
+
+import java.awt.*;
+
+/**
+ * Models a simple solid sphere. 
+ * This class represents a Ball object. When combined with the GameArena class,
+ * instances of the Ball class can be displayed on the screen.
+ */
+public class Ball implements Drawable
+{
+	// The following instance variables define the
+	// information needed to represent a Ball
+	// Feel free to more instance variables if you think it will 
+	// support your work... 
+	
+	private double xPosition;			// The X coordinate of this Ball
+	private double yPosition;			// The Y coordinate of this Ball
+	private double size;				// The diameter of this Ball
+	private int layer = 1;					// The layer of this ball is on.
+	private String colour;				// The colour of this Ball
+	private Color paletteColour;			// The colour of this Ball, as looked up in the Palette
+	private SpriteAtlas.Disc disc;			// The images this Ball was last drawn with, or null if it has not been drawn
+	private DrawList drawList;			// The DrawList holding this Ball, told whenever this Ball changes
+	private boolean active;	
+	private double speedX;
+	private double SpeedY;
+
+	private TableState state;			// The TableState this Ball is a view onto, or null if none
+	private int index;					// The index of this Ball in its TableState
+	private double previousX = Double.NaN;	// The X coordinate of a frozen Ball at the previous tick of a shot, or NaN
+	private double previousY = Double.NaN;	// The Y coordinate of a frozen Ball at the previous tick of a shot, or NaN
+	
+
+										// Permissable colours are:
+										// BLACK, BLUE, CYAN, DARKGREY, GREY,
+										// GREEN, LIGHTGREY, MAGENTA, ORANGE,
+										// PINK, RED, WHITE, YELLOW or #RRGGBB 
+
+	/**
+	 * Constructor. Creates a Ball with the given parameters.
+	 * @param x The x co-ordinate of centre of the Ball (in pixels)
+	 * @param y The y co-ordinate of centre of the Ball (in pixels)
+	 * @param diameter The diameter of the Ball (in pixels)
+	 * @param col The colour of the Ball (Permissable colours are: BLACK, BLUE, CYAN, DARKGREY, GREY, GREEN, LIGHTGREY, MAGENTA, ORANGE, PINK, RED, WHITE, YELLOW or ##RRGGBB)
+	 */
+	public Ball(double x, double y, double diameter, String col)
+	{
+		this.xPosition = x;
+		this.yPosition = y;
+		this.size = diameter;
+		this.colour = col;
+		this.paletteColour = Palette.get(col);
+		this.layer = 0;
+	}	
+
+	/**
+	 * Constructor. Creates a Ball with the given parameters.
+	 * @param x The x co-ordinate of centre of the Ball (in pixels)
+	 * @param y The y co-ordinate of centre of the Ball (in pixels)
+	 * @param diameter The diameter of the Ball (in pixels)
+	 * @param col The colour of the Ball (Permissable colours are: BLACK, BLUE, CYAN, DARKGREY, GREY, GREEN, LIGHTGREY, MAGENTA, ORANGE, PINK, RED, WHITE, YELLOW or ##RRGGBB)
+	 * @param layer The layer this ball is to be drawn on. Objects with a higher layer number are always drawn on top of those with lower layer numbers.
+	 */
+	public Ball(double x, double y, double diameter, String col, int layer)
+	{
+		this.xPosition = x;
+		this.yPosition = y;
+		this.size = diameter;
+		this.colour = col;
+		this.paletteColour = Palette.get(col);
+		this.layer = layer;		
+	}	
+
+	/**
+	 * Constructor. Creates a frozen copy of a Ball, as it is now.
+	 * A Ball that is part of a TableState also keeps where it was at the previous tick, so that it can be drawn in between.
+	 */
+	private Ball(Ball b)
+	{
+		this.copy(b);
+	}
+
+	/**
+	 * Makes this frozen Ball a copy of another Ball, as it is now.
+	 */
+	private void copy(Ball b)
+	{
+		this.xPosition = b.getXPosition();
+		this.yPosition = b.getYPosition();
+		this.size = b.getSize();
+		this.colour = b.colour;
+		this.paletteColour = b.paletteColour;
+		this.layer = b.layer;
+		this.active = b.getActive();
+		this.previousX = b.state == null ? Double.NaN : b.state.lastX[b.index];
+		this.previousY = b.state == null ? Double.NaN : b.state.lastY[b.index];
+	}
+
+	/**
+	 * Obtains the current position of this Ball.
+	 * @return the X coordinate of this Ball within the GameArena.
+	 */
+	public double getXPosition()
+	{
+		if (state != null)
+			return state.x[index];
+
+		return xPosition;
+	}
+
+	/**
+	 * Obtains the current position of this Ball.
+	 * @return the Y coordinate of this Ball within the GameArena.
+	 */
+	public double getYPosition()
+	{
+		if (state != null)
+			return state.y[index];
+
+		return yPosition;
+	}
+
+	/**
+	 * Moves the current position of this Ball to the given co-ordinates
+	 * @param x the new x co-ordinate of this Ball
+	 */
+	public void setXPosition(double x)
+	{
+		if (state != null)
+			state.x[index] = x;
+		else
+			this.xPosition = x;
+
+		this.changed();
+	}
+
+	/**
+	 * Moves the current position of this Ball to the given co-ordinates
+	 * @param y the new y co-ordinate of this Ball
+	 */
+	public void setYPosition(double y)
+	{
+		if (state != null)
+			state.y[index] = y;
+		else
+			this.yPosition = y;
+
+		this.changed();
+	}
+
+	/**
+	 * Obtains the size of this Ball.
+	 * @return the diameter of this Ball,in pixels.
+	 */
+	public double getSize()
+	{
+		if (state != null)
+			return state.size[index];
+
+		return size;
+	}
+	
+	/**
+	 * Sets the diameter of this Ball to the given size.
+	 * @param s the new diameter of this Ball, in pixels.
+	 */
+	public void setSize(double s)
+	{
+		if (state != null)
+			state.size[index] = s;
+		else
+			size = s;
+
+		this.changed();
+	}
+
+	/**
+	 * Obtains the layer of this Ball.
+	 * @return the layer of this Ball.
+	 */
+	public int getLayer()
+	{
+		return layer;
+	}
+
+	/**
+	 * Obtains the colour of this Ball.
+	 * @return a textual description of the colour of this Ball.
+	 */
+	public String getColour()
+	{
+		return colour;
+	}
+
+	/**
+	 * Sets the colour of this Ball.
+	 * @param c the new colour of this Ball, as a String value. Permissable colours are: BLACK, BLUE, CYAN, DARKGREY, GREY, GREEN, LIGHTGREY, MAGENTA, ORANGE, PINK, RED, WHITE, YELLOW or #RRGGBB.
+	 */
+	public void setColour(String c)
+	{
+		colour = c;
+		paletteColour = Palette.get(c);
+		this.changed();
+	}
+
+	/**
+	 * Moves this Ball by the given amount.
+	 * 
+	 * @param dx the distance to move on the x axis (in pixels)
+	 * @param dy the distance to move on the y axis (in pixels)
+	 */
+	public void move(double dx, double dy)
+	{
+		this.setXPosition(this.getXPosition() + dx);
+		this.setYPosition(this.getYPosition() + dy);
+	}
+
+	/**
+	 * Determines if this Ball is overlapping the given ball.
+	 * 
+	 * @param b the ball to test for collision
+	 * @return true of this ball is overlapping the ball b, false otherwise.
+	 */
+	public boolean collides(Ball b)
+	{
+		double dx = b.getXPosition() - this.getXPosition();
+		double dy = b.getYPosition() - this.getYPosition();
+		double distance = Math.sqrt(dx*dx+dy*dy);
+
+		return distance < this.getSize()/2 + b.getSize()/2;
+	}
+
+	
+	/**
+	 * @param active the active to set
+	 */
+	public void setActive(boolean active) {
+		if (state != null)
+			state.setActive(index, active);
+		else
+			this.active = active;
+	}
+
+	public boolean getActive()
+	{
+		if (state != null)
+			return state.isActive(index);
+
+		return active;
+	}	
+
+	public void setSpeedX(double speedX) {
+		if (state != null)
+			state.vx[index] = speedX;
+		else
+			this.speedX = speedX;
+	}
+
+	public double getSpeedX() {
+		if (state != null)
+			return state.vx[index];
+
+		return speedX;
+	}
+
+	public void setSpeedY(double speedY) {
+		if (state != null)
+			state.vy[index] = speedY;
+		else
+			SpeedY = speedY;
+	}
+
+	public double getSpeedY() {
+		if (state != null)
+			return state.vy[index];
+
+		return SpeedY;
+	}
+
+	/**
+	 * Makes this Ball a view onto the given TableState. Called by TableState.add().
+	 * @param s the state holding this Ball's position, speed and active flag.
+	 * @param i the index of this Ball in that state.
+	 */
+	void attach(TableState s, int i)
+	{
+		state = s;
+		index = i;
+	}
+
+	/**
+	 * Draws this Ball. Called by the GameArena it has been added to.
+	 * @param r the renderer to draw with.
+	 */
+	public void draw(Renderer r)
+	{
+		double x = this.getDrawnXPosition(r);
+		double y = this.getDrawnYPosition(r);
+		double d = this.getSize();
+
+		if (d > SpriteAtlas.LARGEST)
+		{
+			r.setColour(paletteColour);
+			r.getGraphics().fillOval((int)(x - d/2), (int)(y - d/2), (int)d, (int)d);
+			return;
+		}
+
+		SpriteAtlas atlas = r.getSprites();
+
+		if (disc == null || !disc.matches(d, paletteColour, atlas))
+			disc = atlas.get(d, paletteColour);
+
+		disc.draw(r.getGraphics(), x - d/2, y - d/2);
+	}
+
+	/**
+	 * Finds the area of the frame this Ball covers when it is drawn, including its antialiased edge.
+	 * @param r the renderer the Ball will be drawn with.
+	 * @param bounds set to the area, in pixels.
+	 */
+	public void getBounds(Renderer r, java.awt.Rectangle bounds)
+	{
+		double d = this.getSize();
+		int side = (int)Math.ceil(d) + 3;
+
+		bounds.setBounds((int)Math.floor(this.getDrawnXPosition(r) - d/2) - 1, (int)Math.floor(this.getDrawnYPosition(r) - d/2) - 1, side, side);
+	}
+
+	/**
+	 * Makes a frozen copy of this Ball, as it is now.
+	 * @return the copy.
+	 */
+	public Drawable freeze()
+	{
+		return new Ball(this);
+	}
+
+	/**
+	 * Makes a frozen copy of this Ball, as it is now, by bringing an earlier frozen copy up to date.
+	 * @param spare an earlier frozen copy of this Ball, which no scene being drawn still holds.
+	 * @return the copy.
+	 */
+	public Drawable refreeze(Drawable spare)
+	{
+		if (!(spare instanceof Ball))
+			return this.freeze();
+
+		((Ball) spare).copy(this);
+		return spare;
+	}
+
+	/**
+	 * Determines if this is a frozen Ball that moved on the last tick of a shot.
+	 * @return true if the Ball is drawn in a different place as the Renderer's blend changes, false otherwise.
+	 */
+	public boolean isAnimated()
+	{
+		if (Double.isNaN(previousX))
+			return false;
+
+		return previousX != this.getXPosition() || previousY != this.getYPosition();
+	}
+
+	/**
+	 * Obtains the X coordinate this Ball is drawn at, which is between its last two positions while a shot is being animated.
+	 */
+	private double getDrawnXPosition(Renderer r)
+	{
+		double x = this.getXPosition();
+		double blend = r.getBlend();
+
+		if (blend >= 1 || Double.isNaN(previousX))
+			return x;
+
+		return previousX + (x - previousX) * blend;
+	}
+
+	/**
+	 * Obtains the Y coordinate this Ball is drawn at, which is between its last two positions while a shot is being animated.
+	 */
+	private double getDrawnYPosition(Renderer r)
+	{
+		double y = this.getYPosition();
+		double blend = r.getBlend();
+
+		if (blend >= 1 || Double.isNaN(previousY))
+			return y;
+
+		return previousY + (y - previousY) * blend;
+	}
+
+	/**
+	 * Tells this Ball which DrawList it is held in, so that it can report changes to it. Called by DrawList.
+	 * @param list the list holding this Ball, or null if it has been removed.
+	 */
+	public void setDrawList(DrawList list)
+	{
+		drawList = list;
+	}
+
+	/**
+	 * Reports a change to this Ball to the DrawList holding it, if there is one.
+	 */
+	private void changed()
+	{
+		if (drawList != null)
+			drawList.changed(this);
+	}
+}
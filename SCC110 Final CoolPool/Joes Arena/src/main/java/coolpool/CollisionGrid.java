@@ -0,0 +1,174 @@
+package coolpool;
+
+import java.util.*;
+
+/**
+ * A uniform grid over the table, used to find which balls might be touching each other
+ * without testing every pair. Each cell is as wide as the largest ball, so two balls
+ * can only touch if they are in the same or neighbouring cells.
+ */
+public class CollisionGrid
+{
+	private double minX;				// The X coordinate of the left edge of the grid
+	private double minY;				// The Y coordinate of the top edge of the grid
+	private double maxX;				// The X coordinate of the right edge of the grid
+	private double maxY;				// The Y coordinate of the bottom edge of the grid
+	private double cellSize;			// The width and height of each cell
+	private int columns;				// The number of cells across the grid
+	private int rows;					// The number of cells down the grid
+
+	private int [] cellStart = new int[1];	// Where each cell's balls start in cellBalls, plus one extra entry for the end
+	private int [] cellFill = new int[0];	// Where the next ball goes in each cell, while the grid is being built
+	private int [] cellBalls = new int[0];	// The index of every active ball, grouped by cell
+	private int [] ballCell = new int[0];	// The cell each ball is in, or -1 if it is not active
+	private int [] neighbours = new int[0];	// The result of the last call to findNeighbours()
+
+	/**
+	 * Constructor. Creates a CollisionGrid covering the given area.
+	 * Balls outside of this area are still handled, but are treated as being in the nearest cell on the edge of the grid.
+	 *
+	 * @param minX The X coordinate of the left edge of the area.
+	 * @param minY The Y coordinate of the top edge of the area.
+	 * @param maxX The X coordinate of the right edge of the area.
+	 * @param maxY The Y coordinate of the bottom edge of the area.
+	 */
+	public CollisionGrid(double minX, double minY, double maxX, double maxY)
+	{
+		this.minX = minX;
+		this.minY = minY;
+		this.maxX = maxX;
+		this.maxY = maxY;
+	}
+
+	/**
+	 * Sorts the active balls in the given state into cells. This must be called whenever the balls have moved,
+	 * before findNeighbours() is used.
+	 *
+	 * @param t the balls on the table.
+	 */
+	public void build(TableState t)
+	{
+		int n = t.count;
+		double largest = 0;
+
+		for (int i = 0; i < n; i++)
+		{
+			if (t.isActive(i) && t.size[i] > largest)
+				largest = t.size[i];
+		}
+
+		if (largest == 0)
+			largest = 1;
+
+		if (largest != cellSize)
+			resize(largest);
+
+		if (ballCell.length < n)
+		{
+			cellBalls = new int[n];
+			ballCell = new int[n];
+			neighbours = new int[n];
+		}
+
+		// Count the balls in each cell...
+		Arrays.fill(cellStart, 0);
+
+		for (int i = 0; i < n; i++)
+		{
+			ballCell[i] = t.isActive(i) ? cellOf(t.x[i], t.y[i]) : -1;
+
+			if (ballCell[i] >= 0)
+				cellStart[ballCell[i] + 1]++;
+		}
+
+		// ... turn the counts into the position each cell starts at ...
+		for (int c = 0; c < columns * rows; c++)
+		{
+			cellStart[c + 1] += cellStart[c];
+			cellFill[c] = cellStart[c];
+		}
+
+		// ... and drop each ball into place, which leaves each cell in ascending ball order.
+		for (int i = 0; i < n; i++)
+		{
+			if (ballCell[i] >= 0)
+				cellBalls[cellFill[ballCell[i]]++] = i;
+		}
+	}
+
+	/**
+	 * Finds the balls that might be touching the given ball: those with a higher index in the same or a neighbouring cell.
+	 * The result is left in the array returned by getNeighbours(), in ascending order, so that collisions are
+	 * handled in the same order as testing every pair would.
+	 *
+	 * @param i the index of the ball.
+	 * @return the number of balls found.
+	 */
+	public int findNeighbours(int i)
+	{
+		int count = 0;
+		int cell = ballCell[i];
+
+		if (cell < 0)
+			return 0;
+
+		int column = cell % columns;
+		int row = cell / columns;
+
+		for (int r = Math.max(row - 1, 0); r <= Math.min(row + 1, rows - 1); r++)
+		{
+			for (int c = Math.max(column - 1, 0); c <= Math.min(column + 1, columns - 1); c++)
+			{
+				int other = r * columns + c;
+
+				for (int k = cellStart[other]; k < cellStart[other + 1]; k++)
+				{
+					int j = cellBalls[k];
+
+					if (j > i)
+					{
+						// Insertion sort - there are only ever a handful of neighbours.
+						int p = count++;
+						while (p > 0 && neighbours[p - 1] > j)
+						{
+							neighbours[p] = neighbours[p - 1];
+							p--;
+						}
+						neighbours[p] = j;
+					}
+				}
+			}
+		}
+
+		return count;
+	}
+
+	/**
+	 * Obtains the balls found by the last call to findNeighbours().
+	 * @return an array holding the ball indices at its start.
+	 */
+	public int [] getNeighbours()
+	{
+		return neighbours;
+	}
+
+	private void resize(double size)
+	{
+		cellSize = size;
+		columns = Math.max(1, (int) Math.ceil((maxX - minX) / cellSize));
+		rows = Math.max(1, (int) Math.ceil((maxY - minY) / cellSize));
+		cellStart = new int[columns * rows + 1];
+		cellFill = new int[columns * rows];
+	}
+
+	private int cellOf(double x, double y)
+	{
+		int c = (int) Math.floor((x - minX) / cellSize);
+		int r = (int) Math.floor((y - minY) / cellSize);
+
+		c = Math.min(Math.max(c, 0), columns - 1);
+		r = Math.min(Math.max(r, 0), rows - 1);
+
+		return r * columns + c;
+	}
+}
@@ -0,0 +1,120 @@
+package coolpool;
+
+/**
+ * Works out which parts of the frame have changed between the Scene last drawn and the next one.
+ * A shape that changes is frozen again, so it turns up in the next scene as a new item: items that have gone
+ * damage the area they were last drawn over, and new items damage the area they cover now.
+ * Layers that share their items with the last scene are skipped, unless they hold a moving ball.
+ * Used only by the thread drawing scenes.
+ */
+public class DamageTracker
+{
+	private Scene last;						// The scene last drawn, or null if none has been
+	private java.awt.Rectangle bounds = new java.awt.Rectangle();	// Scratch space for finding the area a shape covers
+
+	/**
+	 * Finds the parts of the frame that differ between the scene last passed to this method and the given one,
+	 * and records the area each item of the given scene covers.
+	 *
+	 * @param scene the scene about to be drawn.
+	 * @param r the renderer it will be drawn with, with its blend already set.
+	 * @param damage the region to add the changed parts of the frame to.
+	 */
+	public void collect(Scene scene, Renderer r, DirtyRegion damage)
+	{
+		int lastBucket = 0;
+		int lastCount = last == null ? 0 : last.getBucketCount();
+
+		// Buckets are only ever added, so every bucket of the last scene is matched by layer with one in this scene.
+		for (int b = 0; b < scene.getBucketCount(); b++)
+		{
+			Scene.Item [] items = scene.getItems(b);
+			Scene.Item [] before = null;
+
+			while (lastBucket < lastCount && last.getLayer(lastBucket) < scene.getLayer(b))
+				lastBucket++;
+
+			if (lastBucket < lastCount && last.getLayer(lastBucket) == scene.getLayer(b))
+				before = last.getItems(lastBucket);
+
+			if (items == before)
+			{
+				if (scene.isAnimated(b))
+					this.move(items, r, damage);
+
+				continue;
+			}
+
+			if (before != null)
+			{
+				for (int i = 0; i < items.length; i++)
+					items[i].kept = true;
+
+				for (int i = 0; i < before.length; i++)
+				{
+					Scene.Item item = before[i];
+
+					if (!item.kept && item.shown)
+					{
+						damage.add(item.x, item.y, item.width, item.height);
+						item.shown = false;
+					}
+				}
+			}
+
+			for (int i = 0; i < items.length; i++)
+			{
+				Scene.Item item = items[i];
+				item.kept = false;
+
+				if (!item.shown)
+				{
+					item.getShape().getBounds(r, bounds);
+					item.x = bounds.x;
+					item.y = bounds.y;
+					item.width = bounds.width;
+					item.height = bounds.height;
+					item.shown = true;
+					damage.add(item.x, item.y, item.width, item.height);
+				}
+				else if (item.isMoving())
+				{
+					this.move(item, r, damage);
+				}
+			}
+		}
+
+		last = scene;
+	}
+
+	/**
+	 * Finds where the moving items of a bucket have got to.
+	 */
+	private void move(Scene.Item [] items, Renderer r, DirtyRegion damage)
+	{
+		for (int i = 0; i < items.length; i++)
+		{
+			if (items[i].isMoving())
+				this.move(items[i], r, damage);
+		}
+	}
+
+	/**
+	 * Finds where a moving item has got to, damaging the area it was last drawn over and the area it covers now if they differ.
+	 */
+	private void move(Scene.Item item, Renderer r, DirtyRegion damage)
+	{
+		item.getShape().getBounds(r, bounds);
+
+		if (item.x == bounds.x && item.y == bounds.y && item.width == bounds.width && item.height == bounds.height)
+			return;
+
+		damage.add(item.x, item.y, item.width, item.height);
+		damage.add(bounds.x, bounds.y, bounds.width, bounds.height);
+
+		item.x = bounds.x;
+		item.y = bounds.y;
+		item.width = bounds.width;
+		item.height = bounds.height;
+	}
+}
@@ -0,0 +1,211 @@
+package coolpool;
+
+/**
+ * The parts of a frame that need to be drawn again, held as a short list of rectangles.
+ * Rectangles that overlap or touch are merged as they are added, and if there get to be too many
+ * they are all merged into one, so the list never holds more than MAX_RECTANGLES.
+ */
+public class DirtyRegion
+{
+	public static final int MAX_RECTANGLES = 8;				// The most rectangles to keep apart
+
+	private int [] x = new int[MAX_RECTANGLES + 1];			// The left edge of each rectangle
+	private int [] y = new int[MAX_RECTANGLES + 1];			// The top edge of each rectangle
+	private int [] right = new int[MAX_RECTANGLES + 1];		// The right edge of each rectangle, exclusive
+	private int [] bottom = new int[MAX_RECTANGLES + 1];	// The bottom edge of each rectangle, exclusive
+	private int count;										// The number of rectangles
+
+	/**
+	 * Adds an area to this region.
+	 *
+	 * @param ax the X coordinate of the left edge of the area.
+	 * @param ay the Y coordinate of the top edge of the area.
+	 * @param aw the width of the area.
+	 * @param ah the height of the area.
+	 */
+	public void add(int ax, int ay, int aw, int ah)
+	{
+		if (aw <= 0 || ah <= 0)
+			return;
+
+		int l = ax;
+		int t = ay;
+		int r = ax + aw;
+		int b = ay + ah;
+
+		// Absorb every rectangle this one overlaps or touches. Growing may make it touch rectangles it missed, so go round again until none are left.
+		boolean merged = true;
+
+		while (merged)
+		{
+			merged = false;
+
+			for (int i = 0; i < count; i++)
+			{
+				if (l <= right[i] && x[i] <= r && t <= bottom[i] && y[i] <= b)
+				{
+					l = Math.min(l, x[i]);
+					t = Math.min(t, y[i]);
+					r = Math.max(r, right[i]);
+					b = Math.max(b, bottom[i]);
+
+					this.removeAt(i);
+					merged = true;
+					break;
+				}
+			}
+		}
+
+		x[count] = l;
+		y[count] = t;
+		right[count] = r;
+		bottom[count] = b;
+		count++;
+
+		if (count > MAX_RECTANGLES)
+			this.collapse();
+	}
+
+	/**
+	 * Adds every rectangle of another region to this one.
+	 * @param other the region to add.
+	 */
+	public void add(DirtyRegion other)
+	{
+		for (int i = 0; i < other.count; i++)
+			this.add(other.x[i], other.y[i], other.right[i] - other.x[i], other.bottom[i] - other.y[i]);
+	}
+
+	/**
+	 * Empties this region.
+	 */
+	public void clear()
+	{
+		count = 0;
+	}
+
+	/**
+	 * Determines if this region is empty.
+	 * @return true if there is nothing to draw again, false otherwise.
+	 */
+	public boolean isEmpty()
+	{
+		return count == 0;
+	}
+
+	/**
+	 * Obtains the number of rectangles in this region.
+	 * @return the number of rectangles, from 0 to MAX_RECTANGLES.
+	 */
+	public int getCount()
+	{
+		return count;
+	}
+
+	/**
+	 * Obtains the X coordinate of the left edge of a rectangle.
+	 * @param i the index of the rectangle.
+	 * @return the X coordinate.
+	 */
+	public int getX(int i)
+	{
+		return x[i];
+	}
+
+	/**
+	 * Obtains the Y coordinate of the top edge of a rectangle.
+	 * @param i the index of the rectangle.
+	 * @return the Y coordinate.
+	 */
+	public int getY(int i)
+	{
+		return y[i];
+	}
+
+	/**
+	 * Obtains the width of a rectangle.
+	 * @param i the index of the rectangle.
+	 * @return the width, in pixels.
+	 */
+	public int getWidth(int i)
+	{
+		return right[i] - x[i];
+	}
+
+	/**
+	 * Obtains the height of a rectangle.
+	 * @param i the index of the rectangle.
+	 * @return the height, in pixels.
+	 */
+	public int getHeight(int i)
+	{
+		return bottom[i] - y[i];
+	}
+
+	/**
+	 * Obtains the total area of the rectangles in this region.
+	 * @return the area, in pixels.
+	 */
+	public long getArea()
+	{
+		long area = 0;
+
+		for (int i = 0; i < count; i++)
+			area += (long)(right[i] - x[i]) * (bottom[i] - y[i]);
+
+		return area;
+	}
+
+	/**
+	 * Finds the smallest rectangle holding all of this region.
+	 * @param bounds set to the rectangle, or to an empty rectangle if this region is empty.
+	 */
+	public void getBounds(java.awt.Rectangle bounds)
+	{
+		if (count == 0)
+		{
+			bounds.setBounds(0, 0, 0, 0);
+			return;
+		}
+
+		int l = x[0];
+		int t = y[0];
+		int r = right[0];
+		int b = bottom[0];
+
+		for (int i = 1; i < count; i++)
+		{
+			l = Math.min(l, x[i]);
+			t = Math.min(t, y[i]);
+			r = Math.max(r, right[i]);
+			b = Math.max(b, bottom[i]);
+		}
+
+		bounds.setBounds(l, t, r - l, b - t);
+	}
+
+	//
+	// Merges every rectangle into one.
+	//
+	private void collapse()
+	{
+		for (int i = 1; i < count; i++)
+		{
+			x[0] = Math.min(x[0], x[i]);
+			y[0] = Math.min(y[0], y[i]);
+			right[0] = Math.max(right[0], right[i]);
+			bottom[0] = Math.max(bottom[0], bottom[i]);
+		}
+
+		count = 1;
+	}
+
+	private void removeAt(int i)
+	{
+		count--;
+		x[i] = x[count];
+		y[i] = y[count];
+		right[i] = right[count];
+		bottom[i] = bottom[count];
+	}
+}
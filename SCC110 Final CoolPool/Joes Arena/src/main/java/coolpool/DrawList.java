@@ -0,0 +1,563 @@
+package coolpool;
+
+import java.util.*;
+
+/**
+ * The shapes a GameArena draws, kept in one bucket per layer so that they can be drawn back to front
+ * without sorting. Shapes are drawn in ascending layer order, and in the order they were added within a layer.
+ * Every shape remembers where it is held, so adding and removing shapes takes constant time.
+ *
+ * The list is drawn from snapshots taken by capture(), so the thread drawing it never has to wait for the threads changing it.
+ * Frozen copies and item arrays that drop out of the snapshots are kept for reuse until that thread says, through release(),
+ * that it has finished with them, so a shot that moves every ball on every tick does not allocate them afresh.
+ * Every method but release() holds the list's monitor, so shapes can be changed from any thread.
+ */
+public class DrawList
+{
+	private static final int SPARES = 4;		// The most frozen copies kept by each shape, and item arrays by each layer
+
+	private Bucket [] buckets = new Bucket[0];	// One bucket per layer in use, in ascending layer order
+	private IdentityHashMap<Drawable, Slot> slots = new IdentityHashMap<>();	// Where each shape is held
+	private int staticVersion;					// Increased whenever a static layer, or the set of buckets, changes
+	private long version;						// Increased whenever anything that is drawn changes
+	private volatile long released = -1;		// The version of the scene being drawn, older than which no scene is held, or -1
+
+	/**
+	 * The shapes on one layer, in the order they were added. Removed shapes leave a hole,
+	 * which is closed up once holes make up half of the bucket.
+	 */
+	private static class Bucket
+	{
+		private int layer;						// The layer drawn from this bucket
+		private boolean fixed;					// Set if this layer has been marked as static
+		private Slot [] slots = new Slot[16];	// The shapes on this layer, with null where one has been removed
+		private int end;						// The number of slots in use, including holes
+		private int holes;						// The number of holes below end
+		private boolean dirty;					// Set if anything on this layer has changed since the last snapshot
+		private Scene.Item [] captured;			// The items of this layer in the last snapshot, or null if none has been taken
+		private boolean animated;				// Set if one of the captured items is a moving ball
+		private Spares spares;					// Item arrays of earlier snapshots, or null if none have been kept
+	}
+
+	/**
+	 * The position of one shape in its bucket.
+	 */
+	private static class Slot
+	{
+		private Drawable thing;					// The shape held in this slot
+		private Bucket bucket;					// The bucket the shape is in
+		private int index;						// The index of the shape in its bucket
+		private Scene.Item copy;				// The frozen copy of the shape, or null if it has changed since it was last frozen
+		private Scene.Item old;					// The frozen copy in the last snapshot, while the shape has changed since
+		private Spares spares;					// Frozen copies from earlier snapshots, or null if none have been kept
+	}
+
+	/**
+	 * Things that have dropped out of the snapshots, each with the version of the list when it did. A thing can be reused
+	 * once a scene at least that new has been released, as no scene still being drawn holds it. Only the last few are kept,
+	 * so nothing piles up if scenes stop being drawn.
+	 */
+	private static class Spares
+	{
+		private Object [] things = new Object[SPARES];	// The things kept, oldest first from first
+		private long [] retired = new long[SPARES];		// The version of the list when each thing dropped out
+		private int first;						// The index of the oldest thing kept
+		private int count;						// The number of things kept
+
+		/**
+		 * Keeps a thing that has dropped out of the snapshots, in place of the oldest one kept if there is no room.
+		 */
+		private void add(Object thing, long version)
+		{
+			if (count == SPARES)
+			{
+				things[first] = null;
+				first = (first + 1) % SPARES;
+				count--;
+			}
+
+			int i = (first + count) % SPARES;
+			things[i] = thing;
+			retired[i] = version;
+			count++;
+		}
+
+		/**
+		 * Takes the oldest thing kept, if no scene still being drawn holds it.
+		 * @return the thing, or null if there is none that can be reused.
+		 */
+		private Object take(long released)
+		{
+			if (count == 0 || retired[first] > released)
+				return null;
+
+			Object thing = things[first];
+			things[first] = null;
+			first = (first + 1) % SPARES;
+			count--;
+
+			return thing;
+		}
+	}
+
+	/**
+	 * Adds a shape on top of everything else on its layer.
+	 * A shape that is already in the list is moved to the top of its layer, rather than being held twice.
+	 *
+	 * @param d the shape to add.
+	 */
+	public synchronized void add(Drawable d)
+	{
+		Slot s = slots.remove(d);
+
+		if (s != null)
+		{
+			this.vacate(s);
+			DrawList.thaw(s);
+		}
+		else
+			s = new Slot();
+
+		Bucket b = this.bucketFor(d.getLayer());
+
+		if (b.end == b.slots.length)
+			b.slots = Arrays.copyOf(b.slots, b.end * 2);
+
+		s.thing = d;
+		s.bucket = b;
+		s.index = b.end;
+		b.slots[b.end++] = s;
+		b.dirty = true;
+
+		slots.put(d, s);
+		d.setDrawList(this);
+
+		if (b.fixed)
+			staticVersion++;
+
+		this.touch();
+	}
+
+	/**
+	 * Removes a shape from the list. Shapes that are not in the list are ignored.
+	 *
+	 * @param d the shape to remove.
+	 * @return true if the shape was in the list, false otherwise.
+	 */
+	public synchronized boolean remove(Drawable d)
+	{
+		Slot s = slots.remove(d);
+
+		if (s == null)
+			return false;
+
+		this.vacate(s);
+		d.setDrawList(null);
+		this.touch();
+
+		return true;
+	}
+
+	/**
+	 * Determines if a shape is in the list.
+	 * @param d the shape to look for.
+	 * @return true if the shape is in the list, false otherwise.
+	 */
+	public synchronized boolean contains(Drawable d)
+	{
+		return slots.containsKey(d);
+	}
+
+	/**
+	 * Obtains the number of shapes in the list.
+	 * @return the number of shapes, over all layers.
+	 */
+	public synchronized int size()
+	{
+		return slots.size();
+	}
+
+	/**
+	 * Obtains the number of layers that shapes have been added to. Buckets are numbered from 0 in ascending layer order.
+	 * @return the number of buckets.
+	 */
+	public synchronized int getBucketCount()
+	{
+		return buckets.length;
+	}
+
+	/**
+	 * Obtains the layer drawn from a bucket.
+	 * @param bucket the number of the bucket.
+	 * @return the layer.
+	 */
+	public synchronized int getLayer(int bucket)
+	{
+		return buckets[bucket].layer;
+	}
+
+	/**
+	 * Obtains the number of shapes on a bucket's layer.
+	 * @param bucket the number of the bucket.
+	 * @return the number of shapes.
+	 */
+	public synchronized int getSize(int bucket)
+	{
+		Bucket b = buckets[bucket];
+		return b.end - b.holes;
+	}
+
+	/**
+	 * Obtains the number of shapes on each layer.
+	 * @return a new map from each layer that shapes have been added to, in ascending order, to the number of shapes on it.
+	 */
+	public synchronized Map<Integer, Integer> getLayerSizes()
+	{
+		Map<Integer, Integer> sizes = new TreeMap<>();
+
+		for (int i = 0; i < buckets.length; i++)
+			sizes.put(buckets[i].layer, buckets[i].end - buckets[i].holes);
+
+		return sizes;
+	}
+
+	/**
+	 * Obtains the number of slots to look at when walking through a bucket with get().
+	 * @param bucket the number of the bucket.
+	 * @return one more than the index of the last shape in the bucket.
+	 */
+	public synchronized int getEnd(int bucket)
+	{
+		return buckets[bucket].end;
+	}
+
+	/**
+	 * Obtains a shape from a bucket. Shapes at lower indexes are drawn first.
+	 *
+	 * @param bucket the number of the bucket.
+	 * @param index the index of the shape in the bucket, from 0 to getEnd(bucket) - 1.
+	 * @return the shape, or null if the shape that was there has been removed.
+	 */
+	public synchronized Drawable get(int bucket, int index)
+	{
+		Slot s = buckets[bucket].slots[index];
+		return s == null ? null : s.thing;
+	}
+
+	/**
+	 * Marks a layer as static or dynamic. Shapes on static layers are expected to change rarely, so a GameArena
+	 * draws them once into a cached image and redraws that image only when one of them changes.
+	 * Balls moved by a ShotSimulator do not report their movement, so should not be put on a static layer.
+	 *
+	 * @param layer the layer.
+	 * @param fixed true to mark the layer as static, false to mark it as dynamic.
+	 */
+	public synchronized void setStatic(int layer, boolean fixed)
+	{
+		Bucket b = this.bucketFor(layer);
+
+		if (b.fixed != fixed)
+		{
+			b.fixed = fixed;
+			b.dirty = true;
+			staticVersion++;
+			this.touch();
+		}
+	}
+
+	/**
+	 * Determines if a bucket's layer has been marked as static.
+	 * @param bucket the number of the bucket.
+	 * @return true if the layer is static, false otherwise.
+	 */
+	public synchronized boolean isStatic(int bucket)
+	{
+		return buckets[bucket].fixed;
+	}
+
+	/**
+	 * Obtains a number that changes whenever a shape on a static layer is added, removed or changed,
+	 * a layer is marked as static or dynamic, or a layer is used for the first time.
+	 *
+	 * @return the static version.
+	 */
+	public synchronized int getStaticVersion()
+	{
+		return staticVersion;
+	}
+
+	/**
+	 * Records that a shape in this list has changed. Called by the shape.
+	 * @param d the shape that has changed.
+	 */
+	public synchronized void changed(Drawable d)
+	{
+		Slot s = slots.get(d);
+
+		if (s == null)
+			return;
+
+		DrawList.thaw(s);
+		s.bucket.dirty = true;
+
+		if (s.bucket.fixed)
+			staticVersion++;
+
+		this.touch();
+	}
+
+	/**
+	 * Records that something drawn from this list has changed without reporting it, for example balls moved by a ShotSimulator,
+	 * and wakes any thread waiting in awaitChange().
+	 */
+	public synchronized void touch()
+	{
+		version++;
+		this.notifyAll();
+	}
+
+	/**
+	 * Obtains a number that changes whenever a shape is added, removed or changed, a layer is marked as static or dynamic,
+	 * or touch() is called.
+	 *
+	 * @return the version of the scene.
+	 */
+	public synchronized long getVersion()
+	{
+		return version;
+	}
+
+	/**
+	 * Waits until the scene has changed from a version that has already been seen.
+	 *
+	 * @param seen the version last seen.
+	 * @return the current version, which is different from seen.
+	 * @throws InterruptedException if the waiting thread is interrupted.
+	 */
+	public synchronized long awaitChange(long seen) throws InterruptedException
+	{
+		while (version == seen)
+			this.wait();
+
+		return version;
+	}
+
+	/**
+	 * Records that shapes may have changed without reporting it, so that they are all frozen again in the next snapshot.
+	 */
+	public synchronized void invalidate()
+	{
+		for (Slot s : slots.values())
+			DrawList.thaw(s);
+
+		for (Bucket b : buckets)
+			b.dirty = true;
+
+		staticVersion++;
+		this.touch();
+	}
+
+	/**
+	 * Takes a snapshot of the list, freezing every shape that has changed since the last snapshot.
+	 * Layers where nothing has changed share their items with the last snapshot.
+	 *
+	 * @param tickTime the time of the last tick of the shot being played, from System.nanoTime().
+	 * @param tickLength the time between ticks of the shot being played, in nanoseconds, or 0 if no shot is being played.
+	 * @return the snapshot.
+	 */
+	public synchronized Scene capture(long tickTime, long tickLength)
+	{
+		int n = buckets.length;
+		int [] layers = new int[n];
+		boolean [] fixed = new boolean[n];
+		boolean [] animated = new boolean[n];
+		Scene.Item [][] items = new Scene.Item[n][];
+
+		for (int i = 0; i < n; i++)
+		{
+			Bucket b = buckets[i];
+
+			if (b.dirty || b.captured == null)
+			{
+				Scene.Item [] captured = b.spares == null ? null : (Scene.Item []) b.spares.take(released);
+				int k = 0;
+
+				if (captured == null || captured.length != b.end - b.holes)
+					captured = new Scene.Item[b.end - b.holes];
+
+				b.animated = false;
+
+				for (int j = 0; j < b.end; j++)
+				{
+					Slot s = b.slots[j];
+
+					if (s == null)
+						continue;
+
+					if (s.copy == null)
+						s.copy = this.freeze(s);
+
+					captured[k++] = s.copy;
+					b.animated |= s.copy.isMoving();
+				}
+
+				if (b.captured != null && released >= 0)
+				{
+					if (b.spares == null)
+						b.spares = new Spares();
+
+					b.spares.add(b.captured, version);
+				}
+
+				b.captured = captured;
+				b.dirty = false;
+			}
+
+			layers[i] = b.layer;
+			fixed[i] = b.fixed;
+			items[i] = b.captured;
+			animated[i] = b.animated;
+		}
+
+		return new Scene(layers, fixed, items, animated, staticVersion, version, tickTime, tickLength);
+	}
+
+	/**
+	 * Records that the thread drawing scenes has moved on to the given scene and holds no older one, so that the frozen copies
+	 * and item arrays only older scenes hold can be reused by later snapshots. Called by the thread drawing scenes,
+	 * which never waits for the list to do so. Nothing is reused in a list whose scenes are never released, and a scene older
+	 * than the last one released is ignored, so the version released never goes backwards.
+	 *
+	 * @param scene the scene being drawn, which was taken by this list.
+	 */
+	public void release(Scene scene)
+	{
+		if (scene.getVersion() > released)
+			released = scene.getVersion();
+	}
+
+	/**
+	 * Freezes a shape that has changed, bringing a frozen copy no scene being drawn still holds up to date where there is one.
+	 */
+	private Scene.Item freeze(Slot s)
+	{
+		Scene.Item item = s.spares == null ? null : (Scene.Item) s.spares.take(released);
+
+		if (item == null)
+			item = new Scene.Item(s.thing.freeze());
+		else
+			item.reuse(s.thing.refreeze(item.getShape()));
+
+		if (s.old != null && released >= 0)
+		{
+			if (s.spares == null)
+				s.spares = new Spares();
+
+			s.spares.add(s.old, version);
+		}
+
+		s.old = null;
+
+		return item;
+	}
+
+	/**
+	 * Drops the frozen copy of a shape that has changed, remembering it until the next snapshot so that it can be reused.
+	 */
+	private static void thaw(Slot s)
+	{
+		if (s.copy != null)
+		{
+			s.old = s.copy;
+			s.copy = null;
+		}
+	}
+
+	/**
+	 * Takes a shape out of its bucket, leaving a hole.
+	 */
+	private void vacate(Slot s)
+	{
+		Bucket b = s.bucket;
+
+		b.slots[s.index] = null;
+		b.dirty = true;
+
+		if (b.fixed)
+			staticVersion++;
+
+		if (s.index == b.end - 1)
+		{
+			b.end--;
+
+			while (b.end > 0 && b.slots[b.end - 1] == null)
+			{
+				b.end--;
+				b.holes--;
+			}
+		}
+		else
+		{
+			b.holes++;
+
+			if (b.holes * 2 > b.end)
+				this.compact(b);
+		}
+	}
+
+	/**
+	 * Closes up the holes in a bucket, keeping its shapes in order.
+	 */
+	private void compact(Bucket b)
+	{
+		int n = 0;
+
+		for (int i = 0; i < b.end; i++)
+		{
+			Slot s = b.slots[i];
+
+			if (s != null)
+			{
+				s.index = n;
+				b.slots[n++] = s;
+			}
+		}
+
+		Arrays.fill(b.slots, n, b.end, null);
+		b.end = n;
+		b.holes = 0;
+	}
+
+	/**
+	 * Finds the bucket for a layer, creating it if this is the first shape on that layer.
+	 */
+	private Bucket bucketFor(int layer)
+	{
+		int low = 0;
+		int high = buckets.length - 1;
+
+		while (low <= high)
+		{
+			int mid = (low + high) >>> 1;
+
+			if (buckets[mid].layer < layer)
+				low = mid + 1;
+			else if (buckets[mid].layer > layer)
+				high = mid - 1;
+			else
+				return buckets[mid];
+		}
+
+		Bucket b = new Bucket();
+		b.layer = layer;
+
+		Bucket [] grown = new Bucket[buckets.length + 1];
+		System.arraycopy(buckets, 0, grown, 0, low);
+		System.arraycopy(buckets, low, grown, low + 1, buckets.length - low);
+		grown[low] = b;
+		buckets = grown;
+		staticVersion++;
+
+		return b;
+	}
+}
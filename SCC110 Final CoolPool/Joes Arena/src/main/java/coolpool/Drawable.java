@@ -0,0 +1,74 @@
+package coolpool;
+
+/**
+ * A shape that a GameArena can draw, such as a Ball, Rectangle, Line or Text.
+ */
+public interface Drawable
+{
+	/**
+	 * Obtains the layer this shape is drawn on. Shapes with a higher layer number are always drawn on top of those with lower layer numbers.
+	 * @return the layer of this shape.
+	 */
+	public int getLayer();
+
+	/**
+	 * Obtains the colour of this shape.
+	 * @return a textual description of the colour of this shape.
+	 */
+	public String getColour();
+
+	/**
+	 * Draws this shape. Shapes set the colour, line width and font they need through the Renderer,
+	 * which only passes them on to the graphics context when they change.
+	 *
+	 * @param r the renderer to draw with.
+	 */
+	public void draw(Renderer r);
+
+	/**
+	 * Tells this shape which DrawList it is held in, so that it can report changes to it. Called by DrawList.
+	 * A shape reports every change to its position, size, colour or text; a shape held in more than one
+	 * DrawList only reports to the last one.
+	 *
+	 * @param list the list holding this shape, or null if it has been removed.
+	 */
+	public void setDrawList(DrawList list);
+
+	/**
+	 * Finds the area of the frame this shape covers when it is drawn, including its antialiased edges.
+	 * The area may be a little larger than the shape, but never smaller.
+	 *
+	 * @param r the renderer the shape will be drawn with.
+	 * @param bounds set to the area, in pixels.
+	 */
+	public void getBounds(Renderer r, java.awt.Rectangle bounds);
+
+	/**
+	 * Makes a copy of this shape as it is now. The copy is never changed, so it can be drawn on another thread
+	 * while this shape carries on changing. Called by DrawList.capture().
+	 *
+	 * @return the frozen copy.
+	 */
+	public Drawable freeze();
+
+	/**
+	 * Makes a frozen copy of this shape as it is now, reusing an earlier frozen copy that no scene being drawn still holds.
+	 * Shapes that change every tick of a shot bring the spare up to date, so that capturing them allocates nothing;
+	 * others may simply freeze() again. Called by DrawList.capture().
+	 *
+	 * @param spare an earlier frozen copy of this shape.
+	 * @return the frozen copy, which may be the spare.
+	 */
+	public default Drawable refreeze(Drawable spare)
+	{
+		return this.freeze();
+	}
+
+	/**
+	 * Determines if this shape is drawn in a different place as the Renderer's blend changes,
+	 * which is only true of a frozen Ball that moved on the last tick of a shot.
+	 *
+	 * @return true if the shape is moving, false otherwise.
+	 */
+	public boolean isAnimated();
+}
@@ -1,12 +1,15 @@
-
-
-public class Driver
-{
-    
-    public static void main(String[] args)
-    {
-        GameArena coolPool = new GameArena(1630, 1000);
-        coolPool.createBoard();        
-    }  
-    
+package coolpool;
+
+
+
+public class Driver
+{
+    
+    public static void main(String[] args)
+    {
+        GameArena coolPool = new GameArena(1630, 1000);
+        coolPool.createBoard();        
+        coolPool.registerStatistics();
+    }  
+    
 }
\ No newline at end of file
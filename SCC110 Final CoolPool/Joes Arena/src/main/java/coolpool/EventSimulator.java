@@ -0,0 +1,419 @@
+package coolpool;
+
+import java.util.*;
+
+/**
+ * Simulates a single shot by jumping from one event to the next, rather than stepping through every frame.
+ *
+ * Under the linear deceleration used by ShotSimulator, every ball's speed is scaled by the same amount on
+ * each frame. Measured in distance travelled at full speed rather than in frames, every ball moves in a
+ * straight line at a constant speed between events. That lets the time of the next collision, cushion
+ * bounce and pot be worked out exactly, so balls can never pass through each other or a cushion, and a
+ * shot only costs as much as the number of things that happen in it.
+ *
+ * Events that are due at the same time are always handled in the same order, so a shot played twice
+ * from the same state has the same outcome. As with ShotSimulator, a shot ends once no ball would travel more than
+ * restDistance before the end of the shot, and every ball is then put to rest.
+ */
+public class EventSimulator extends ShotSimulator
+{
+	private static final int COLLISION = 0;
+	private static final int CUSHION_X = 1;
+	private static final int CUSHION_Y = 2;
+	private static final int POT = 3;
+
+	private int maxEvents = 100000;		// A shot is cut short after this many events, in case balls get stuck
+	private PriorityQueue<Event> queue = new PriorityQueue<Event>();
+	private int [] version = new int[0];	// Bumped every time a ball changes course, to tell when an event is out of date
+	private double now;					// The distance travelled at full speed since the start of the shot
+	private int eventCount;				// The number of events handled in the last shot
+	private int framesPlayed;			// The number of frames played of the shot being played with step()
+	private boolean resting;			// Set once the balls of the shot being played with step() have come to rest
+
+	/**
+	 * Constructor. Creates an EventSimulator for the given table.
+	 * @param cushions The cushions of the table, in the order top, left, bottom, right.
+	 * @param pocketCircles The pockets of the table.
+	 */
+	public EventSimulator(Rectangle [] cushions, Ball [] pocketCircles)
+	{
+		super(cushions, pocketCircles);
+	}
+
+	/**
+	 * Plays out a shot, starting from the current position and speed of the balls in the given state.
+	 *
+	 * @param t the balls on the table. These are updated in place.
+	 * @param listener informed of every collision and pot, in the order they happen.
+	 * @return the number of frames the shot lasted for, up to the frame in which the last ball came to rest.
+	 */
+	public int simulate(TableState t, ShotListener listener)
+	{
+		this.start(t);
+		this.play(t, distanceAt(endFrame), listener);
+
+		int frames = this.framesTo(now);
+		framesSimulated += frames;
+		return frames;
+	}
+
+	/**
+	 * Starts playing out a shot one frame at a time. Between events balls are moved to where they are at the end
+	 * of each frame, so the positions at the end of the shot can differ from those found by simulate() in the last few bits.
+	 *
+	 * @param t the balls on the table.
+	 */
+	public void begin(TableState t)
+	{
+		this.start(t);
+		framesPlayed = 0;
+		resting = false;
+	}
+
+	/**
+	 * Plays the next frame of a shot started with begin(), handling every event due before the end of the frame.
+	 *
+	 * @param t the balls on the table. These are updated in place.
+	 * @param listener informed of every collision and pot, in the order they happen.
+	 * @return true if a frame was played, false if the shot is over.
+	 */
+	public boolean step(TableState t, ShotListener listener)
+	{
+		if (framesPlayed == endFrame || resting)
+			return false;
+
+		int before = framesPlayed;
+
+		if (this.play(t, distanceAt(framesPlayed + 1), listener))
+		{
+			framesPlayed++;
+		}
+		else
+		{
+			framesPlayed = this.framesTo(now);
+			resting = true;
+		}
+
+		return framesPlayed != before;
+	}
+
+	/**
+	 * Ends a shot played with step().
+	 * @return the number of frames the shot lasted for.
+	 */
+	public int finish()
+	{
+		framesSimulated += framesPlayed;
+		return framesPlayed;
+	}
+
+	/**
+	 * Obtains the number of frames played so far of the shot being played with step().
+	 * @return the number of frames.
+	 */
+	public int getFrame()
+	{
+		return framesPlayed;
+	}
+
+	/**
+	 * Obtains the number of events handled during the last shot.
+	 * @return the number of collisions, cushion bounces and pots.
+	 */
+	public int getEventCount()
+	{
+		return eventCount;
+	}
+
+	/**
+	 * Clears the queue and works out the first events of a shot.
+	 */
+	private void start(TableState t)
+	{
+		int n = t.count;
+
+		if (version.length < n)
+			version = new int[n];
+
+		queue.clear();
+		now = 0;
+		eventCount = 0;
+
+		for (int i = 0; i < n; i++)
+			predict(t, i, i + 1);
+	}
+
+	/**
+	 * Handles every event due before the given point in the shot, and moves the balls forward to it.
+	 * If every ball comes to rest first, the balls are moved forward to that point instead and stopped.
+	 *
+	 * @return true if the balls are still moving, false if they have come to rest.
+	 */
+	private boolean play(TableState t, double until, ShotListener listener)
+	{
+		while (true)
+		{
+			Event e = queue.peek();
+
+			if (e != null && (version[e.i] != e.versionI || (e.j >= 0 && version[e.j] != e.versionJ)))
+			{
+				queue.poll();
+				continue;
+			}
+
+			double rest = this.restTime(t);
+			boolean due = e != null && eventCount < maxEvents && e.time <= until; // NaN times are never due
+
+			if (rest <= until && !(due && e.time <= rest))
+			{
+				advance(t, rest);
+
+				for (int i = 0; i < t.count; i++)
+				{
+					t.vx[i] = 0;
+					t.vy[i] = 0;
+				}
+
+				return false;
+			}
+
+			if (!due)
+			{
+				advance(t, until);
+				return true;
+			}
+
+			queue.poll();
+			this.handle(t, e, listener);
+		}
+	}
+
+	/**
+	 * Works out the point in the shot at which every ball is at rest, if none of them changes course before then:
+	 * the point from which none of them would travel more than restDistance before the end of the shot.
+	 */
+	private double restTime(TableState t)
+	{
+		double end = distanceAt(endFrame);
+		double rest = now;
+
+		for (int i = 0; i < t.count; i++)
+		{
+			double speed = Math.sqrt(t.vx[i]*t.vx[i] + t.vy[i]*t.vy[i]);
+
+			if (speed > 0)
+				rest = Math.max(rest, end - restDistance / speed);
+		}
+
+		return rest;
+	}
+
+	/**
+	 * Moves the balls forward to when an event happens, and handles it.
+	 */
+	private void handle(TableState t, Event e, ShotListener listener)
+	{
+		advance(t, e.time);
+		eventCount++;
+
+		int frame = frameAt(e.time);
+
+		if (e.type == COLLISION)
+		{
+			deflect(t, e.i, e.j);
+			version[e.i]++;
+			version[e.j]++;
+			listener.collision(frame, e.i, e.j);
+			predict(t, e.i, 0);
+			predict(t, e.j, 0);
+		}
+		else if (e.type == CUSHION_X)
+		{
+			t.vx[e.i] = -t.vx[e.i];
+			version[e.i]++;
+			predict(t, e.i, 0);
+		}
+		else if (e.type == CUSHION_Y)
+		{
+			t.vy[e.i] = -t.vy[e.i];
+			version[e.i]++;
+			predict(t, e.i, 0);
+		}
+		else if (e.type == POT)
+		{
+			// The rules may take the ball off the table or move it, so work out where it goes from here.
+			version[e.i]++;
+			listener.potted(frame, e.i);
+			predict(t, e.i, 0);
+		}
+	}
+
+	/**
+	 * Works out the next cushion bounce and pot for the given ball, and its next collision with
+	 * each of the balls from the given index onward, and adds them to the queue.
+	 */
+	private void predict(TableState t, int i, int from)
+	{
+		if (!t.isActive(i))
+			return;
+
+		double x = t.x[i];
+		double y = t.y[i];
+		double vx = t.vx[i];
+		double vy = t.vy[i];
+
+		if (vx < 0)
+			schedule(CUSHION_X, x <= leftCushion ? now : now + (leftCushion - x) / vx, i, -1);
+		else if (vx > 0)
+			schedule(CUSHION_X, x >= rightCushion ? now : now + (rightCushion - x) / vx, i, -1);
+
+		if (vy < 0)
+			schedule(CUSHION_Y, y <= topCushion ? now : now + (topCushion - y) / vy, i, -1);
+		else if (vy > 0)
+			schedule(CUSHION_Y, y >= bottomCushion ? now : now + (bottomCushion - y) / vy, i, -1);
+
+		for (int p = 0; p < pocketX.length; p++)
+		{
+			double reach = t.size[i]/2 + pocketSize[p]/2;
+			double s = contact(pocketX[p] - x, pocketY[p] - y, -vx, -vy, reach);
+
+			// Balls are only potted as they arrive over a pocket, not while they sit in one.
+			if (s > 0)
+				schedule(POT, now + s, i, -1);
+		}
+
+		for (int j = from; j < t.count; j++)
+		{
+			if (j == i || !t.isActive(j))
+				continue;
+
+			double reach = t.size[i]/2 + t.size[j]/2;
+			double s = contact(t.x[j] - x, t.y[j] - y, t.vx[j] - vx, t.vy[j] - vy, reach);
+
+			if (s >= 0)
+				schedule(COLLISION, now + s, Math.min(i, j), Math.max(i, j));
+		}
+	}
+
+	/**
+	 * Works out how far the balls have to travel before two circles first touch.
+	 *
+	 * @param px the X coordinate of the second circle, relative to the first.
+	 * @param py the Y coordinate of the second circle, relative to the first.
+	 * @param vx the speed of the second circle along the x axis, relative to the first.
+	 * @param vy the speed of the second circle along the y axis, relative to the first.
+	 * @param reach the distance between the centres of the circles when they touch.
+	 * @return the distance travelled until they touch, 0 if they are already overlapping and moving together, or -1 if they never touch.
+	 */
+	private double contact(double px, double py, double vx, double vy, double reach)
+	{
+		double b = px*vx + py*vy;
+
+		if (b >= 0) // moving apart
+			return -1;
+
+		double a = vx*vx + vy*vy;
+		double c = px*px + py*py - reach*reach;
+
+		if (c < 0) // already overlapping
+			return 0;
+
+		double discriminant = b*b - a*c;
+
+		if (discriminant < 0) // passing each other by
+			return -1;
+
+		return c / (-b + Math.sqrt(discriminant));
+	}
+
+	private void schedule(int type, double time, int i, int j)
+	{
+		queue.add(new Event(type, time, i, j, version[i], j >= 0 ? version[j] : 0));
+	}
+
+	/**
+	 * Moves every ball forward to the given point in the shot.
+	 */
+	private void advance(TableState t, double time)
+	{
+		double s = time - now;
+
+		for (int i = 0; i < t.count; i++)
+		{
+			t.x[i] += t.vx[i] * s;
+			t.y[i] += t.vy[i] * s;
+		}
+
+		now = time;
+	}
+
+	/**
+	 * Works out how far a ball moving at full speed would have travelled after the given number of frames,
+	 * matching the distance ShotSimulator moves it: the sum of (1 - f/endFrame) for every frame f before it.
+	 */
+	private double distanceAt(double frames)
+	{
+		return frames - frames * (frames - 1) / (2 * endFrame);
+	}
+
+	/**
+	 * The inverse of distanceAt(): the frame a shot has reached once balls have travelled the given distance at full speed.
+	 */
+	private int frameAt(double distance)
+	{
+		double b = 2 * endFrame + 1;
+		double frames = (b - Math.sqrt(Math.max(b*b - 8 * endFrame * distance, 0))) / 2;
+
+		return (int) Math.min(frames, endFrame - 1);
+	}
+
+	/**
+	 * Works out the number of frames played by the time balls have travelled the given distance at full speed.
+	 */
+	private int framesTo(double distance)
+	{
+		if (distance <= 0)
+			return 0;
+
+		int frames = frameAt(distance);
+
+		while (frames < endFrame && distanceAt(frames) < distance)
+			frames++;
+
+		return frames;
+	}
+
+	/**
+	 * Something that is due to happen during a shot, and the version of each ball it was worked out from.
+	 */
+	private static class Event implements Comparable<Event>
+	{
+		int type;
+		double time;
+		int i;
+		int j;
+		int versionI;
+		int versionJ;
+
+		Event(int type, double time, int i, int j, int versionI, int versionJ)
+		{
+			this.type = type;
+			this.time = time;
+			this.i = i;
+			this.j = j;
+			this.versionI = versionI;
+			this.versionJ = versionJ;
+		}
+
+		public int compareTo(Event e)
+		{
+			if (time != e.time)
+				return Double.compare(time, e.time);
+			if (type != e.type)
+				return Integer.compare(type, e.type);
+			if (i != e.i)
+				return Integer.compare(i, e.i);
+			return Integer.compare(j, e.j);
+		}
+	}
+}
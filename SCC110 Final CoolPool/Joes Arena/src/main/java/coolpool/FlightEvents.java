@@ -0,0 +1,137 @@
+package coolpool;
+
+import jdk.jfr.*;
+
+/**
+ * The JDK Flight Recorder events raised by the game, so that hitches seen in a recording can be matched with what the game was doing
+ * when they happened. They appear in JDK Mission Control under the CoolPool category, and each can be turned on or off
+ * by its name, such as coolpool.Collision, in the settings of a recording.
+ *
+ * Every place an event is raised first asks its EventType if it is enabled, so nothing is allocated or measured
+ * unless a recording has asked for that event.
+ */
+public class FlightEvents
+{
+	public static final EventType SHOT = EventType.getEventType(Shot.class);
+	public static final EventType COLLISION = EventType.getEventType(Collision.class);
+	public static final EventType POT = EventType.getEventType(Pot.class);
+	public static final EventType TURN = EventType.getEventType(Turn.class);
+	public static final EventType FRAME = EventType.getEventType(Frame.class);
+
+	/**
+	 * A shot, from the white ball being struck until the balls come to rest and the rules have been applied.
+	 * An animated shot is struck on one thread and played out on another, and is recorded against the second.
+	 */
+	@Name("coolpool.Shot")
+	@Label("Shot")
+	@Category("CoolPool")
+	@Description("A shot, from the white ball being struck until the rules have been applied")
+	public static class Shot extends Event
+	{
+		@Label("Player")
+		public int player;
+
+		@Label("Angle")
+		@Description("The direction the white ball was struck in, in radians clockwise from the positive x axis")
+		public double angle;
+
+		@Label("Power")
+		@Description("The speed the white ball was struck at, in pixels per frame")
+		public double power;
+
+		@Label("Frames")
+		@Description("The number of frames simulated")
+		public int frames;
+	}
+
+	/**
+	 * Two balls bouncing off each other.
+	 */
+	@Name("coolpool.Collision")
+	@Label("Collision")
+	@Category("CoolPool")
+	@Description("Two balls deflected off each other")
+	@StackTrace(false)
+	public static class Collision extends Event
+	{
+		@Label("First Ball")
+		public int first;
+
+		@Label("Second Ball")
+		public int second;
+
+		@Label("Speed")
+		@Description("The sum of the speeds of the two balls before they collided, in pixels per frame")
+		public double speed;
+	}
+
+	/**
+	 * A ball dropping into a pocket.
+	 */
+	@Name("coolpool.Pot")
+	@Label("Pot")
+	@Category("CoolPool")
+	@Description("A ball dropped into a pocket")
+	@StackTrace(false)
+	public static class Pot extends Event
+	{
+		@Label("Colour")
+		public String colour;
+
+		@Label("Frame")
+		@Description("The frame of the shot on which the ball was potted")
+		public int frame;
+	}
+
+	/**
+	 * The decision of whose turn it is after a shot.
+	 */
+	@Name("coolpool.Turn")
+	@Label("Turn")
+	@Category("CoolPool")
+	@Description("The decision of whose turn it is after a shot")
+	@StackTrace(false)
+	public static class Turn extends Event
+	{
+		@Label("Player")
+		@Description("The player who took the shot")
+		public int player;
+
+		@Label("Next Player")
+		public int nextPlayer;
+
+		@Label("Following Player")
+		@Description("The player to take the shot after next, who is the same as the next player after a foul")
+		public int followingPlayer;
+
+		@Label("Foul")
+		public boolean foul;
+
+		@Label("Double Shot")
+		@Description("Set if the player potted one of their own balls")
+		public boolean doubleShot;
+	}
+
+	/**
+	 * A frame drawn into a GameArena's buffer.
+	 */
+	@Name("coolpool.Frame")
+	@Label("Frame")
+	@Category("CoolPool")
+	@Description("A frame drawn into the buffer of a GameArena")
+	@StackTrace(false)
+	public static class Frame extends Event
+	{
+		@Label("Objects")
+		@Description("The number of shapes in the scene")
+		public int objects;
+
+		@Label("Damaged Areas")
+		@Description("The number of rectangles drawn again")
+		public int areas;
+
+		@Label("Quality")
+		@Description("The level of the rendering hints, from 0 for the best looking to 3 for the fastest")
+		public int quality;
+	}
+}
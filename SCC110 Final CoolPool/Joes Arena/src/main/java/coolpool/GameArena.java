@@ -0,0 +1,1477 @@
+package coolpool;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.geom.*;
+import java.awt.image.*;
+import java.awt.event.*;
+import java.util.*;
+import java.util.concurrent.atomic.*;
+import java.lang.management.*;
+import javax.management.*;
+import java.lang.Class;
+
+/**
+ * This class provides a simple window in which grahical objects can be drawn. 
+ * @author Joe Finney
+ */
+public class GameArena extends JPanel implements Runnable, KeyListener, MouseListener, MouseMotionListener
+{
+	/**
+	 * What happens to the keys that aim and play shots when they are pressed while a shot is being played.
+	 * The space bar is always ignored until the shot is over, as the next shot should not be played before the player has seen where the balls stopped.
+	 */
+	public enum InputPolicy
+	{
+		REJECT,		// Ignore the keys
+		QUEUE		// Act on the aiming and power keys once the shot is over, in the order they were pressed
+	}
+
+	// Size of playarea
+	private JFrame frame;
+	private int arenaWidth;
+	private int arenaHeight;
+
+	private boolean exiting = false; 
+
+	private DrawList things = new DrawList();
+	private Renderer renderer = new Renderer();
+	private StaticLayerCache staticLayers;
+	private AtomicReference<Scene> published = new AtomicReference<>(things.capture(0, 0));
+	private DamageTracker tracker = new DamageTracker();
+
+	private boolean up = false;
+	private boolean down = false;
+	private boolean left = false;
+	private boolean right = false;
+	private boolean shift = false;
+	private boolean space = false;
+	private boolean esc = false;
+	private boolean enter = false;
+	private boolean x = false;
+	private boolean z = false;
+	private boolean o = false;
+	private boolean leftMouse = false;
+	private boolean rightMouse = false;
+	private int mouseX = 0;
+	private int mouseY = 0;
+
+	private static final int MAX_HELD_KEYS = 32;					// The most keys held back while a shot is being played
+	private volatile InputPolicy inputPolicy = InputPolicy.QUEUE;	// What to do with keys pressed while a shot is being played
+	private ArrayDeque<KeyEvent> heldKeys = new ArrayDeque<>();		// The keys held back until the shot is over. Guarded by this GameArena's lock
+
+	private Image buffer;
+	private Graphics2D graphics;
+	private Map<RenderingHints.Key, Object> renderingHints;
+	private volatile boolean rendered = false;
+
+	private DirtyRegion damage = new DirtyRegion();			// The parts of the buffer to draw again
+	private DirtyRegion unshown = new DirtyRegion();		// The parts of the buffer drawn since they were last copied to the screen
+	private java.awt.Rectangle area = new java.awt.Rectangle();	// Scratch space for clip and damage bounds
+	private Insets insets = new Insets(0, 0, 0, 0);			// Scratch space for the insets of this panel
+	private volatile boolean redrawAll = true;				// Set if the whole buffer needs to be drawn again
+	private volatile boolean refreshing = false;			// Set while a refresh is waiting to run on the event dispatch thread
+	private Runnable refresh = this::refresh;
+	private volatile int frameRateCap = 100;				// The most frames to draw each second, or 0 for no limit
+	private ActiveCanvas canvas;							// The canvas drawn on from this arena's thread, or null if Swing paints this arena
+	private Object bufferLock = new Object();				// Held while drawing into or copying from the buffer. Never held by the game
+	private QualityGovernor governor = new QualityGovernor();	// Chooses the rendering hints from the time taken to draw frames
+	private int quality = QualityGovernor.QUALITY;			// The level of the rendering hints the buffer is drawn with
+	private Metrics metrics = new Metrics();				// Measures frames and shots while enabled
+	private ArenaStatistics statistics = new ArenaStatistics(things);	// The live statistics of this arena, seen through JMX
+	private ObjectName statisticsName;						// The name the statistics are registered under, or null if they are not
+
+	/**
+	 * Create a view of a GameArena.
+	 * 
+	 * @param width The width of the playing area, in pixels.
+	 * @param height The height of the playing area, in pixels.
+	 */
+	public GameArena(int width, int height)
+	{
+		this.init(width, height, true, false, true);
+	}
+
+	/**
+	 * Create a view of a GameArena.
+	 * 
+	 * @param width The width of the playing area, in pixels.
+	 * @param height The height of the playing area, in pixels.
+	 * @param createWindow Defines if a window should be created to host this GameArena. @see getPanel.
+	 */
+	public GameArena(int width, int height, boolean createWindow)
+	{
+		this.init(width, height, createWindow, false, true);
+	}
+
+	/**
+	 * Create a view of a GameArena, optionally drawn actively.
+	 * An actively drawn GameArena draws and shows its frames from its own thread through a BufferStrategy, rather than
+	 * waiting for Swing to paint it. This can be smoother, but the GameArena then holds a heavyweight Canvas,
+	 * which does not mix well with other Swing components drawn over it.
+	 *
+	 * @param width The width of the playing area, in pixels.
+	 * @param height The height of the playing area, in pixels.
+	 * @param createWindow Defines if a window should be created to host this GameArena. @see getPanel.
+	 * @param activeRendering true to draw actively, false to be painted by Swing.
+	 */
+	public GameArena(int width, int height, boolean createWindow, boolean activeRendering)
+	{
+		this.init(width, height, createWindow, activeRendering, true);
+	}
+
+	/**
+	 * Create a view of a GameArena without a thread of its own, as for createOffscreen().
+	 */
+	private GameArena(int width, int height, boolean createWindow, boolean activeRendering, boolean renderThread)
+	{
+		this.init(width, height, createWindow, activeRendering, renderThread);
+	}
+
+	/**
+	 * Creates a GameArena that has no window and no thread of its own, for drawing frames offscreen, as benchmarks and tests do.
+	 * Nothing is drawn until paint() is called, which then draws the scene last taken by publish(), so no frame is ever drawn behind the caller's back.
+	 *
+	 * @param width The width of the playing area, in pixels.
+	 * @param height The height of the playing area, in pixels.
+	 * @return the new GameArena.
+	 */
+	public static GameArena createOffscreen(int width, int height)
+	{
+		return new GameArena(width, height, false, false, false);
+	}
+
+	/**
+	 * Internal initialisation method - called by constructor methods.
+	 */
+	private void init(int width, int height, boolean createWindow, boolean activeRendering, boolean renderThread)
+	{
+		if (activeRendering)
+		{
+			canvas = new ActiveCanvas(this);
+			canvas.addMouseListener(this);
+			canvas.addMouseMotionListener(this);
+			this.setLayout(new BorderLayout());
+			this.add(canvas, BorderLayout.CENTER);
+		}
+
+		if (createWindow)
+		{
+			this.frame = new JFrame();
+			frame.setTitle("Let's Play!");
+			frame.setSize(width, height);
+			frame.setResizable(false);
+			frame.setBackground(Color.BLACK);
+			frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+			frame.setContentPane(this);
+			frame.setVisible(true);		
+		}
+
+		this.setSize(width, height);
+
+		// Draw with the best looking rendering hints to start with, stepping down if frames take longer to draw than the frame rate cap allows.
+		renderingHints = governor.getHints(quality);
+		this.setFrameRateCap(frameRateCap);
+
+		if (renderThread)
+		{
+			Thread t = new Thread(this);		
+			t.start();
+		}
+
+		this.addMouseListener(this);
+		this.addMouseMotionListener(this);
+
+		if (frame != null)
+			frame.addKeyListener(this);
+	}
+
+	public void run() {
+		try {
+			if (canvas != null)
+				this.renderActively();
+			else
+				this.renderPassively();
+		} catch (InterruptedException iex) {}
+
+		if (frame != null)
+			frame.dispatchEvent(new WindowEvent(frame, WindowEvent.WINDOW_CLOSING));
+	}
+
+	/**
+	 * Draws and shows a frame on the canvas each time the scene changes, no more often than the frame rate cap allows.
+	 */
+	private void renderActively() throws InterruptedException
+	{
+		long seen = -1;
+
+		while (!exiting)
+		{
+			statistics.setRenderIdle(true);
+			seen = things.awaitChange(seen);
+			statistics.setRenderIdle(false);
+			this.publish();
+
+			// The canvas cannot be drawn on until it is on the screen.
+			while (!exiting && !canvas.present())
+				Thread.sleep(10);
+
+			int cap = frameRateCap;
+
+			if (cap > 0)
+				Thread.sleep(1000 / cap);
+		}
+	}
+
+	/**
+	 * Asks Swing to draw the parts of the window that change, each time the scene changes, no more often than the frame rate cap allows.
+	 */
+	private void renderPassively() throws InterruptedException
+	{
+		// Until the buffer exists, ask Swing to paint everything.
+		while (!exiting && !rendered)
+		{
+			this.repaint();
+			Thread.sleep(10);
+		}
+
+		// After that, sleep until something in the scene changes, then redraw just the parts that have changed.
+		// A table that nobody is playing on draws nothing.
+		long seen = -1;
+
+		while (!exiting)
+		{
+			statistics.setRenderIdle(true);
+			seen = things.awaitChange(seen);
+			statistics.setRenderIdle(false);
+			this.publish();
+
+			if (!refreshing)
+			{
+				refreshing = true;
+				SwingUtilities.invokeLater(refresh);
+			}
+
+			int cap = frameRateCap;
+
+			if (cap > 0)
+				Thread.sleep(1000 / cap);
+		}
+	}
+
+	/**
+	 * Update the size of the GameArena.
+	 *
+	 * @param width the new width of the window in pixels.
+	 * @param height the new height of the window in pixels.
+	 */
+	public void setSize(int width, int height)
+	{
+		this.arenaWidth = width;
+		this.arenaHeight = height;
+
+		super.setSize(width,height);
+
+		if (frame != null)
+			frame.setSize(arenaWidth + frame.getInsets().left + frame.getInsets().right, arenaHeight + frame.getInsets().top + frame.getInsets().bottom);
+
+
+	}	
+
+	/**
+	 * Retrieves the JPanel on which this gameArena is drawn, so that it can be integrated into
+	 * a users application. 
+	 * 
+	 * n.b. This should only be called if this GameArena was constructed without its own JFrame
+	 * 
+	 * @return the JPanel containing this GameArena.
+	 */
+	public JPanel getPanel()
+	{
+		return this;
+	}
+	/**
+	 * Close this GameArena window.
+	 * 
+	 */
+	public void exit()
+	{
+		this.exiting = true;
+		things.touch();
+		loop.shutdown();
+
+		synchronized (this)
+		{
+			if (statisticsName != null)
+			{
+				try { ManagementFactory.getPlatformMBeanServer().unregisterMBean(statisticsName); }
+				catch (JMException e) {}
+
+				statisticsName = null;
+			}
+		}
+	}
+
+	/**
+	 * Makes the live statistics of this GameArena visible through JMX, for example in JConsole, until the arena exits.
+	 * Each arena is registered under its own name, such as coolpool:type=GameArena,id=1.
+	 * @return the name the statistics are registered under.
+	 * @throws IllegalStateException if the statistics could not be registered.
+	 */
+	public synchronized ObjectName registerStatistics()
+	{
+		if (statisticsName != null)
+			return statisticsName;
+
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+		try
+		{
+			for (int id = 1; statisticsName == null; id++)
+			{
+				ObjectName name = new ObjectName("coolpool:type=GameArena,id=" + id);
+
+				if (!server.isRegistered(name))
+				{
+					server.registerMBean(statistics, name);
+					statisticsName = name;
+				}
+			}
+		}
+		catch (JMException e)
+		{
+			throw new IllegalStateException("Could not register the statistics of this GameArena", e);
+		}
+
+		return statisticsName;
+	}
+
+	/**
+	 * Obtains the live statistics of this GameArena, which are kept whether or not they are registered with JMX.
+	 * @return the statistics.
+	 */
+	public ArenaStatisticsMXBean getStatistics()
+	{
+		return statistics;
+	}
+
+	/**
+	 * Limits how often the window is drawn again while the scene is changing. Nothing is drawn while it is not changing.
+	 * The time between frames is also the budget the quality governor keeps frames within, taking 60 frames a second if there is no limit.
+	 * @param fps the most frames to draw each second, or 0 to draw a frame after every change.
+	 */
+	public void setFrameRateCap(int fps)
+	{
+		this.frameRateCap = Math.max(0, fps);
+		governor.setBudget(1000000000L / (frameRateCap > 0 ? frameRateCap : 60));
+	}
+
+	/**
+	 * Obtains the limit on how often the window is drawn again.
+	 * @return the most frames drawn each second, or 0 if there is no limit.
+	 */
+	public int getFrameRateCap()
+	{
+		return frameRateCap;
+	}
+
+	/**
+	 * Tells this GameArena that shapes have changed without reporting it, so that it draws them again.
+	 * Balls moved by a ShotSimulator do not report their movement, so this must be called after a shot is played.
+	 */
+	public void touch()
+	{
+		things.invalidate();
+	}
+
+	/**
+	 * Tells this GameArena that the pool balls have been moved by a ShotSimulator. Must be called while holding this GameArena's lock.
+	 */
+	void ballsMoved()
+	{
+		for (int i = 0; i < balls.length; i++)
+			things.changed(balls[i]);
+	}
+
+	/**
+	 * Takes a snapshot of the scene and hands it to the thread drawing frames, which draws the latest snapshot it has been given
+	 * without ever waiting for the game. This is done by this GameArena's own thread each time the scene changes.
+	 * The snapshot is taken while holding this GameArena's lock, so it never shows part of a change made while holding the lock,
+	 * and is handed over before the lock is released, so a snapshot is never replaced by an older one taken by another thread.
+	 */
+	public void publish()
+	{
+		synchronized (this)
+		{
+			if (overlay != null && System.nanoTime() - overlayUpdated > OVERLAY_PERIOD)
+				this.updateOverlay();
+
+			published.set(things.capture(loop.getTickTime(), loop.getTickLength()));
+		}
+	}
+
+	/**
+	 * A method called by the operating system to draw onto the screen - <p><B>YOU DO NOT (AND SHOULD NOT) NEED TO CALL THIS METHOD.</b></p>
+	 */
+	public void paint (Graphics gr)
+	{
+		
+		Graphics2D window = (Graphics2D) gr;
+
+		// An actively drawn arena is drawn on its canvas, which Swing shows on top of this panel.
+		if (canvas != null)
+			return;
+
+		if (!rendered)
+		{
+			this.setSize(arenaWidth, arenaHeight);
+
+			// Create a buffer the same size of the window, which we can reuse from frame to frame to improve performance.
+			BufferedImage image = new BufferedImage(arenaWidth, arenaHeight, BufferedImage.TYPE_INT_ARGB);
+			this.useBuffer(image, image.createGraphics());
+
+			// Remember that we've completed this initialisation, so that we don't do it again...
+			rendered = true;
+		}
+
+		if (frame == null)
+		{
+			// Find the JFrame we have been added to, and attach a KeyListner
+			frame = (JFrame) SwingUtilities.getWindowAncestor(this);
+
+			if (frame != null)
+				frame.addKeyListener(this);
+		}
+
+		// Copying the buffer only depends on the interpolation hint, which matters if the screen scales it. Setting one hint allocates nothing.
+		window.setRenderingHint(RenderingHints.KEY_INTERPOLATION, renderingHints.get(RenderingHints.KEY_INTERPOLATION));
+
+		synchronized (bufferLock)
+		{
+			if (!this.exiting)
+				this.drawDamage();
+
+			// Only copy the part of the buffer Swing has asked for.
+			this.getInsets(insets);
+			int left = insets.left;
+			int top = insets.top;
+
+			// getClipBounds() leaves the rectangle alone if there is no clip, in which case the whole buffer is copied.
+			area.setBounds(left, top, arenaWidth, arenaHeight);
+			window.getClipBounds(area);
+			area.translate(-left, -top);
+
+			window.drawImage(buffer, left + area.x, top + area.y, left + area.x + area.width, top + area.y + area.height, area.x, area.y, area.x + area.width, area.y + area.height, this);
+		}
+	}
+
+	/**
+	 * Makes the whole window be drawn again the next time it is painted, rather than just the parts that have changed.
+	 */
+	public void repaintAll()
+	{
+		redrawAll = true;
+		things.touch();
+	}
+
+	/**
+	 * Makes the whole buffer be drawn again by the next frame, without asking for a frame to be drawn.
+	 * Called when the contents of the buffer have been lost just before a frame is drawn anyway.
+	 */
+	void invalidateBuffer()
+	{
+		redrawAll = true;
+	}
+
+	/**
+	 * Makes frames be drawn into the given image from now on, drawing the whole of the next frame.
+	 *
+	 * @param image the image to draw frames into, which must be the size of the arena.
+	 * @param g a graphics context drawing on the image.
+	 */
+	void useBuffer(Image image, Graphics2D g)
+	{
+		synchronized (bufferLock)
+		{
+			if (graphics != null)
+				graphics.dispose();
+
+			buffer = image;
+			graphics = g;
+			graphics.setRenderingHints(renderingHints);
+
+			if (staticLayers == null)
+				staticLayers = new StaticLayerCache(arenaWidth, arenaHeight);
+
+			redrawAll = true;
+		}
+	}
+
+	/**
+	 * Brings the buffer of an actively drawn arena up to date. The whole buffer is shown afterwards, so nothing is left unshown.
+	 */
+	void drawBuffer()
+	{
+		synchronized (bufferLock)
+		{
+			if (exiting)
+				return;
+
+			this.drawDamage();
+			unshown.clear();
+		}
+	}
+
+	/**
+	 * Brings the buffer up to date with the latest published scene by drawing the parts of it that have changed since it was last drawn,
+	 * from the bottom layer up, using the cached image of any static layers. Must be called while holding the buffer lock.
+	 * The scene is never changed once it has been published, so this never waits for the game.
+	 */
+	private void drawDamage()
+	{
+		Scene scene = published.get();
+
+		if (governor.getLevel() != quality)
+			this.changeQuality();
+
+		long start = System.nanoTime();
+		FlightEvents.Frame event = null;
+
+		if (FlightEvents.FRAME.isEnabled())
+		{
+			event = new FlightEvents.Frame();
+			event.begin();
+		}
+
+		renderer.begin(graphics);
+		staticLayers.update(scene, renderer, graphics);
+		renderer.setBlend(scene.getBlend(System.nanoTime()));
+		tracker.collect(scene, renderer, damage);
+		things.release(scene);
+
+		if (redrawAll)
+		{
+			damage.clear();
+			damage.add(0, 0, arenaWidth, arenaHeight);
+			redrawAll = false;
+		}
+
+		for (int i = 0; i < damage.getCount(); i++)
+			staticLayers.draw(scene, renderer, damage.getX(i), damage.getY(i), damage.getWidth(i), damage.getHeight(i));
+
+		if (event != null && !damage.isEmpty())
+		{
+			event.objects = scene.size();
+			event.areas = damage.getCount();
+			event.quality = quality;
+			event.commit();
+		}
+
+		if (!damage.isEmpty())
+		{
+			long end = System.nanoTime();
+			statistics.frameDrawn(end);
+			metrics.frameDrawn(start, end, scene.size());
+
+			// A new level is drawn with from the next frame, so ask for one.
+			if (governor.frameDrawn(end - start))
+				things.touch();
+		}
+
+		unshown.add(damage);
+		damage.clear();
+	}
+
+	/**
+	 * Starts drawing with the rendering hints the quality governor has chosen. The cached images of the static layers,
+	 * and of text and balls, were drawn with the old hints, so they are drawn again, and so is the whole of the next frame.
+	 * Must be called while holding the buffer lock.
+	 */
+	private void changeQuality()
+	{
+		quality = governor.getLevel();
+		renderingHints = governor.getHints(quality);
+		graphics.setRenderingHints(renderingHints);
+		staticLayers.invalidate();
+		redrawAll = true;
+	}
+
+	/**
+	 * Obtains the level of the rendering hints frames are drawn with.
+	 * @return the level, from QualityGovernor.QUALITY for the best looking to QualityGovernor.FASTEST.
+	 */
+	public int getRenderQuality()
+	{
+		return governor.getLevel();
+	}
+
+	/**
+	 * Draws frames with the given level of rendering hints from now on, rather than letting the quality governor choose.
+	 * @param level the level, from QualityGovernor.QUALITY for the best looking to QualityGovernor.FASTEST.
+	 */
+	public void setRenderQuality(int level)
+	{
+		governor.setAdaptive(false);
+		governor.setLevel(level);
+		things.touch();
+	}
+
+	/**
+	 * Lets the quality governor choose the rendering hints from the time taken to draw frames, which it does unless
+	 * setRenderQuality() has been called.
+	 * @param adaptive true to let the governor choose, false to keep the current level.
+	 */
+	public void setAdaptiveQuality(boolean adaptive)
+	{
+		governor.setAdaptive(adaptive);
+	}
+
+	/**
+	 * Obtains the governor that chooses the rendering hints frames are drawn with.
+	 * @return the quality governor.
+	 */
+	public QualityGovernor getQualityGovernor()
+	{
+		return governor;
+	}
+
+	/**
+	 * Obtains the metrics measuring the frames drawn and shots played in this GameArena. They are only measured while enabled,
+	 * which they are while the metrics overlay is shown.
+	 * @return the metrics.
+	 */
+	public Metrics getMetrics()
+	{
+		return metrics;
+	}
+
+	/**
+	 * Shows or hides the metrics overlay, which is also toggled by pressing O. Metrics are measured while the overlay is shown,
+	 * and the overlay is brought up to date with them after each shot, and at most twice a second while the scene is changing.
+	 * @param shown true to show the overlay, false to hide it.
+	 */
+	public synchronized void showMetrics(boolean shown)
+	{
+		if (shown == (overlay != null))
+			return;
+
+		metrics.setEnabled(shown);
+
+		if (shown)
+		{
+			overlay = new Text[Metrics.MEASURES];
+
+			for (int i = 0; i < overlay.length; i++)
+			{
+				overlay[i] = new Text("", 16, 1100, 890 + 22 * i, "YELLOW", 3);
+				addText(overlay[i]);
+			}
+
+			this.updateOverlay();
+		}
+		else
+		{
+			for (int i = 0; i < overlay.length; i++)
+				removeText(overlay[i]);
+
+			overlay = null;
+		}
+	}
+
+	/**
+	 * Determines if the metrics overlay is shown.
+	 * @return true if the overlay is shown, false otherwise.
+	 */
+	public synchronized boolean isShowingMetrics()
+	{
+		return overlay != null;
+	}
+
+	/**
+	 * Writes the latest metrics into the overlay. Must be called while holding this GameArena's lock, with the overlay shown.
+	 */
+	private void updateOverlay()
+	{
+		for (int i = 0; i < overlay.length; i++)
+			overlay[i].setText(metrics.describe(i));
+
+		overlayUpdated = System.nanoTime();
+	}
+
+	/**
+	 * Run on the event dispatch thread about every 10ms. Draws the parts of the buffer that have changed,
+	 * then asks Swing to copy just those parts to the screen.
+	 */
+	private void refresh()
+	{
+		refreshing = false;
+
+		synchronized (bufferLock)
+		{
+			if (exiting)
+				return;
+
+			this.drawDamage();
+			unshown.getBounds(area);
+			unshown.clear();
+
+			if (!area.isEmpty())
+			{
+				this.getInsets(insets);
+				this.repaint(area.x + insets.left, area.y + insets.top, area.width, area.height);
+			}
+		}
+	}
+
+	/**
+	 * Adds a given shape to the drawlist, maintaining z buffering order. 
+	 *
+	 * @param d the shape to add to the drawlist.
+	 */
+	private void addThing(Drawable d)
+	{
+		if (exiting)
+			return;
+
+		synchronized (this)
+		{
+			if (things.size() > 100000)
+			{
+				System.out.println("\n\n");
+				System.out.println(" ********************************************************* ");
+				System.out.println(" ***** Only 100000 Objects Supported per Game Arena! ***** ");
+				System.out.println(" ********************************************************* ");
+				System.out.println("\n");
+				System.out.println("-- Joe\n\n");
+				
+				this.exit();
+			}
+			else
+			{
+				things.add(d);
+			}
+		}
+	}
+
+	/**
+	 * Remove an object from the drawlist. 
+	 *
+	 * @param d the shape to remove from the drawlist.
+	 */
+	private void removeObject(Drawable d)
+	{
+		synchronized (this)
+		{
+			things.remove(d);
+		}
+	}
+
+	/**
+	 * Adds a given Ball to the GameArena. 
+	 * Once a Ball is added, it will automatically appear on the window. 
+	 *
+	 * @param b the ball to add to the GameArena.
+	 */
+	public void addBall(Ball b)
+	{
+		this.addThing(b);
+	}
+
+	/**
+	 * Adds a given Rectangle to the GameArena. 
+	 * Once a rectangle is added, it will automatically appear on the window. 
+	 *
+	 * @param r the rectangle to add to the GameArena.
+	 */
+	public void addRectangle(Rectangle r)
+	{
+		this.addThing(r);
+	}
+
+	/**
+	 * Adds a given Line to the GameArena. 
+	 * Once a Line is added, it will automatically appear on the window. 
+	 *
+	 * @param l the line to add to the GameArena.
+	 */
+	public void addLine(Line l)
+	{
+		this.addThing(l);
+	}
+
+	/**
+	 * Adds a given Text object to the GameArena. 
+	 * Once a Text object is added, it will automatically appear on the window. 
+	 *
+	 * @param t the text object to add to the GameArena.
+	 */
+	public void addText(Text t)
+	{
+		this.addThing(t);
+	}
+
+
+	/**
+	 * Remove a Rectangle from the GameArena. 
+	 * Once a Rectangle is removed, it will no longer appear on the window. 
+	 *
+	 * @param r the rectangle to remove from the GameArena.
+	 */
+	public void removeRectangle(Rectangle r)
+	{
+		this.removeObject(r);
+	}
+
+	/**
+	 * Remove a Ball from the GameArena. 
+	 * Once a Ball is removed, it will no longer appear on the window. 
+	 *
+	 * @param b the ball to remove from the GameArena.
+	 */
+	public void removeBall(Ball b)
+	{
+		this.removeObject(b);
+	}
+
+	/**
+	 * Remove a Line from the GameArena. 
+	 * Once a Line is removed, it will no longer appear on the window. 
+	 *
+	 * @param l the line to remove from the GameArena.
+	 */
+	public void removeLine(Line l)
+	{
+		this.removeObject(l);
+	}
+
+	/**
+	 * Remove a Text object from the GameArena. 
+	 * Once a Text object is removed, it will no longer appear on the window. 
+	 *
+	 * @param t the text object to remove from the GameArena.
+	 */
+	public void removeText(Text t)
+	{
+		this.removeObject(t);
+	}
+
+	/**
+	 * Marks a layer as static or dynamic. Objects on a static layer are drawn once into a cached image,
+	 * which is only drawn again when one of them is added, removed or changed. Use this for layers that rarely change.
+	 *
+	 * @param layer the layer.
+	 * @param isStatic true to mark the layer as static, false to mark it as dynamic.
+	 */
+	public void setLayerStatic(int layer, boolean isStatic)
+	{
+		synchronized (this)
+		{
+			things.setStatic(layer, isStatic);
+		}
+	}
+
+	/**
+	 * Pause for a 1/50 of a second. 
+	 * This method causes your program to delay for 1/50th of a second. You'll find this useful if you're trying to animate your application.
+	 *
+	 */
+	public void pause()
+	{
+		try { Thread.sleep(20); }
+		catch (Exception e) {};
+	}
+
+ 	public void keyPressed(KeyEvent e) 
+	{
+		keyAction(e,true);
+	}
+ 	
+	public synchronized void keyAction(KeyEvent e,boolean yn) 
+	{
+		int code = e.getKeyCode();
+
+		if (loop.isPlaying() && GameArena.aims(code)) // the shot can't be changed while it is being played
+		{
+			holdKey(e);
+			return;
+		}
+
+		if (code == KeyEvent.VK_UP)
+		{
+			up = yn;
+			increasePower();
+		}					
+		if (code == KeyEvent.VK_DOWN)
+		{
+			down = yn;
+			decreasePower();
+			
+		}					
+		if (code == KeyEvent.VK_LEFT)
+		{
+			left = yn;
+			if(zCounter % 2 != 0)
+				rotateAntiClockwiseSlow();			
+			else rotateAntiClockwise();		
+		}			
+		if (code == KeyEvent.VK_RIGHT)
+		{
+			right = yn;
+			if(zCounter % 2 != 0)
+				rotateClockwiseSlow();		
+			else rotateClockwise();			
+		}								
+		if (code == KeyEvent.VK_SPACE)
+		{
+			space = yn;
+			shoot();			
+		}					
+		if (code == KeyEvent.VK_SHIFT)
+		{
+			shift = yn;
+			changeLineSize();	// increases/ decreases trajectory line size		
+		}
+		if (code == KeyEvent.VK_ESCAPE)
+			esc = yn;		
+		if (code == KeyEvent.VK_ENTER)
+			enter = yn;		
+		if (code == KeyEvent.VK_X)
+			x = yn;		
+		if (code == KeyEvent.VK_Z)
+		{		
+			z = yn;
+			zCounter++; // acts as toggle button first slwoingdown rotation
+		}			
+		if (code == KeyEvent.VK_O)
+		{
+			o = yn;		
+			showMetrics(!isShowingMetrics()); // toggles the metrics overlay
+		}
+	}
+
+	/**
+	 * Determines if a key aims or plays a shot.
+	 */
+	private static boolean aims(int code)
+	{
+		return code == KeyEvent.VK_UP || code == KeyEvent.VK_DOWN || code == KeyEvent.VK_LEFT || code == KeyEvent.VK_RIGHT || code == KeyEvent.VK_SHIFT || code == KeyEvent.VK_SPACE;
+	}
+
+	/**
+	 * Deals with a key that aims or plays a shot pressed while a shot is being played, as the input policy says.
+	 * Must be called while holding this GameArena's lock.
+	 */
+	private void holdKey(KeyEvent e)
+	{
+		if (inputPolicy == InputPolicy.REJECT || e.getKeyCode() == KeyEvent.VK_SPACE || heldKeys.size() >= MAX_HELD_KEYS)
+			return;
+
+		heldKeys.add(e);
+	}
+
+	/**
+	 * Obtains what happens to the keys that aim and play shots when they are pressed while a shot is being played.
+	 * @return the input policy.
+	 */
+	public InputPolicy getInputPolicy()
+	{
+		return inputPolicy;
+	}
+
+	/**
+	 * Sets what happens to the keys that aim and play shots when they are pressed while a shot is being played.
+	 * Keys pressed while a shot is being played are held back until it is over by default.
+	 * @param policy the input policy.
+	 */
+	public synchronized void setInputPolicy(InputPolicy policy)
+	{
+		this.inputPolicy = policy;
+
+		if (policy == InputPolicy.REJECT)
+			heldKeys.clear();
+	}
+
+	public void keyReleased(KeyEvent e)
+	{
+		
+	}
+
+
+ 	public void keyTyped(KeyEvent e) 
+	{		
+		
+	}
+
+
+	public void mousePressed(MouseEvent e) 
+	{
+		if (e.getButton() == MouseEvent.BUTTON1)
+			this.leftMouse = true;
+
+		if (e.getButton() == MouseEvent.BUTTON3)
+			this.rightMouse = true;
+	}
+
+	public void mouseReleased(MouseEvent e) 
+	{
+		if (e.getButton() == MouseEvent.BUTTON1)
+			this.leftMouse = false;
+
+		if (e.getButton() == MouseEvent.BUTTON3)
+			this.rightMouse = false;
+	}
+
+	public void mouseEntered(MouseEvent e) 
+	{
+	}
+
+	public void mouseExited(MouseEvent e) 
+	{
+	}
+
+	public void mouseClicked(MouseEvent e) 
+	{
+	}
+
+	public void mouseMoved(MouseEvent e) 
+	{
+		mouseX = e.getX();	
+		mouseY = e.getY();	
+	}
+
+	public void mouseDragged(MouseEvent e) 
+	{
+	}
+
+	/** 
+	 * Gets the width of the GameArena window, in pixels.
+	 * @return the width in pixels
+	 */
+	public int getArenaWidth()
+	{
+		return arenaWidth;
+	}
+
+	/** 
+	 * Gets the height of the GameArena window, in pixels.
+	 * @return the height in pixels
+	 */
+	public int getArenaHeight()
+	{
+		return arenaHeight;
+	}
+
+	/** 
+	 * Determines if the user is currently pressing the cursor up button.
+	 * @return true if the up button is pressed, false otherwise.
+	 */
+	public boolean upPressed()
+	{
+		return up;
+	}
+
+	/** 
+	 * Determines if the user is currently pressing the cursor down button.
+	 * @return true if the down button is pressed, false otherwise.
+	 */
+	public boolean downPressed()
+	{
+		return down;
+	}
+
+	/** 
+	 * Determines if the user is currently pressing the cursor left button.
+	 * @return true if the left button is pressed, false otherwise.
+	 */
+	public boolean leftPressed()
+	{
+		return left;
+	}
+
+	/** 
+	 * Determines if the user is currently pressing the cursor right button.
+	 * @return true if the right button is pressed, false otherwise.
+	 */
+	public boolean rightPressed()
+	{
+		return right;
+	}
+
+	/** 
+	 * Determines if the user is currently pressing the space bar.
+	 * @return true if the space bar is pressed, false otherwise.
+	 */
+	public boolean spacePressed()
+	{
+		return space;
+	}
+
+        /** 
+	 * Determines if the user is currently pressing the Esc button.
+	 * @return true if the esc button is pressed, false otherwise.
+	 */
+	public boolean escPressed()
+	{
+		return esc;
+	}
+
+	/**
+	 * Determines if the user is currently pressing the enter button.
+	 * @return true if the enter button is pressed, false otherwise.
+	 */
+	public boolean enterPressed()
+	{
+		return enter;
+	}
+
+	/** 
+	 * Determines if the user is currently pressing the x button.
+	 * @return true if the x button is pressed, false otherwise.
+	 */
+	public boolean xPressed()
+	{
+		return x;
+	}
+
+	/**
+	 * Determines if the user is currently pressing the z button.
+	 * @return true if the z button is pressed, false otherwise.
+	 */
+	public boolean zPressed()
+	{
+		return z;
+	}
+
+	/**
+	 * Determines if the user is currently pressing the o button.
+	 * @return true if the o button is pressed, false otherwise.
+	 */
+	public boolean oPressed()
+	{
+		return o;
+	}
+
+	/** 
+	 * Determines if the user is currently pressing the shift key.
+	 * @return true if the shift key is pressed, false otherwise.
+	 */
+	public boolean shiftPressed()
+	{
+		return shift;
+	}
+
+	/** 
+	 * Determines if the user is currently pressing the left mouse button.
+	 * @return true if the left mouse button is pressed, false otherwise.
+	 */
+	public boolean leftMousePressed()
+	{
+		return leftMouse;
+	}
+
+	/** 
+	 * Determines if the user is currently pressing the right mouse button.
+	 * @return true if the right mouse button is pressed, false otherwise.
+	 */
+	public boolean rightMousePressed()
+	{
+		return rightMouse;
+	}
+
+	/**
+	 * Gathers location informaiton on the mouse pointer.
+	 * @return the current X coordinate of the mouse pointer in the GameArena.
+	 */
+	public int getMousePositionX()
+	{
+		return mouseX;
+	}
+
+	/**
+	 * Gathers location informaiton on the mouse pointer.
+	 * @return the current Y coordinate of the mouse pointer in the GameArena.
+	 */
+	public int getMousePositionY()
+	{
+		return mouseY;
+	}
+
+	private PoolGame pool = new PoolGame();
+	private GameLoop loop = new GameLoop(this, pool);
+
+	private Ball [] balls = pool.getBalls();
+	private Rectangle table = new Rectangle(50, 50, 1400, 800, "BLUE", -1);
+	private Rectangle [] cushions = pool.getCushions();
+	private Ball [] pocketCircles = pool.getPocketCircles();
+	private Rectangle [] pocketRectangles = new Rectangle[10];
+	private Rectangle powerBarUnderlay = new Rectangle(1490, 50, 100, 800, "GREY", -1);
+	private Rectangle [] powerBar = new Rectangle[20];
+	private Line trajectory;
+	private int lineSize = 200;
+	private int zCounter;	
+	private int rotationalIncrement = 0;
+	private int rotationalIncrementSlow = 0;
+	private int powerIncrement = 1;
+
+	private Text powerText = new Text("Power Bar", 20, 1490, 35, "WHITE", 2);
+	private Text turn = new Text("Player 1's turn", 30, 50, 900, "WHITE", 2);
+	private Text player1ColourText = new Text("Player 1 = ", 30, 50, 940, "WHITE", 2);
+	private Text player2ColourText = new Text("Player 2 = ", 30, 50, 980, "WHITE", 2);
+	private Text player1Colour = new Text(pool.getPlayer1().getColour(), 30, 200, 940, "WHITE", 2);
+	private Text player2Colour = new Text(pool.getPlayer2().getColour(), 30, 200, 980, "WHITE", 2);
+	private Text turnText = new Text("Turn number = ", 30, 350, 900, "WHITE", 2);
+	private Text turnNumberText = new Text("0", 30, 565, 900, "WHITE", 2);
+	private Text winnerText;
+	private Text [] overlay;		// The lines of the metrics overlay, or null if it is hidden
+	private long overlayUpdated;	// The time the overlay was last brought up to date, from System.nanoTime()
+	private static final long OVERLAY_PERIOD = 500000000L;	// The least time between updates of the overlay while the scene is changing, in nanoseconds
+	
+	public synchronized void createBoard() // setup and adding to the JPanel.
+	{
+		powerBar[0] = new Rectangle(1500, 815, 80, 30, "GREEN", -1);
+		powerBar[1] = new Rectangle(1500, 775, 80, 30, "GREEN", -1);
+		powerBar[2] = new Rectangle(1500, 735, 80, 30, "GREEN", -1);
+		powerBar[3] = new Rectangle(1500, 695, 80, 30, "GREEN", -1);
+		powerBar[4] = new Rectangle(1500, 655, 80, 30, "GREEN", -1);
+		powerBar[5] = new Rectangle(1500, 615, 80, 30, "ORANGE", -1);
+		powerBar[6] = new Rectangle(1500, 575, 80, 30, "ORANGE", -1);
+		powerBar[7] = new Rectangle(1500, 535, 80, 30, "ORANGE", -1);
+		powerBar[8] = new Rectangle(1500, 495, 80, 30, "ORANGE", -1);
+		powerBar[9] = new Rectangle(1500, 455, 80, 30, "ORANGE", -1);
+		powerBar[10] = new Rectangle(1500, 415, 80, 30, "RED", -1);
+		powerBar[11] = new Rectangle(1500, 375, 80, 30, "RED", -1);
+		powerBar[12] = new Rectangle(1500, 335, 80, 30, "RED", -1);
+		powerBar[13] = new Rectangle(1500, 295, 80, 30, "RED", -1);
+		powerBar[14] = new Rectangle(1500, 255, 80, 30, "RED", -1);
+		powerBar[15] = new Rectangle(1500, 215, 80, 30, "RED", -1);
+		powerBar[16] = new Rectangle(1500, 175, 80, 30, "RED", -1);
+		powerBar[17] = new Rectangle(1500, 135, 80, 30, "RED", -1);
+		powerBar[18] = new Rectangle(1500, 95, 80, 30, "RED", -1);
+		powerBar[19] = new Rectangle(1500, 55, 80, 30, "RED", -1);
+
+		pocketRectangles[0] = new Rectangle(60, 60, 40, 20, "BLACK", 1);
+		pocketRectangles[1] = new Rectangle(60, 60, 20, 40, "BLACK", 1);
+		pocketRectangles[2] = new Rectangle(1400, 60, 40, 20, "BLACK", 1);
+		pocketRectangles[3] = new Rectangle(1420, 60, 20, 40, "BLACK", 1);
+		pocketRectangles[4] = new Rectangle(60, 820, 40, 20, "BLACK", 1);
+		pocketRectangles[5] = new Rectangle(60, 800, 20, 40, "BLACK", 1);
+		pocketRectangles[6] = new Rectangle(1400, 820, 40, 20, "BLACK", 1);
+		pocketRectangles[7] = new Rectangle(1420, 800, 20, 40, "BLACK", 1);
+		pocketRectangles[8] = new Rectangle(730, 60, 40, 20, "BLACK", 1);
+		pocketRectangles[9] = new Rectangle(730, 820, 40, 20, "BLACK", 1);
+		
+		
+		trajectory = new Line(balls[0].getXPosition(), balls[0].getYPosition(), balls[0].getXPosition() + (lineSize * Math.cos((rotationalIncrement + rotationalIncrementSlow)*Math.PI/90)), balls[0].getYPosition() + (lineSize * Math.sin((rotationalIncrement + rotationalIncrementSlow)*Math.PI/90)), 2, "WHITE");
+
+		// The table and power bar (layer -1) rarely change, so are drawn from a cached image. The trajectory and balls are on layer 0,
+		// the pockets and cushions on layer 1 and the text on layer 2. The pockets and cushions are cheaper to draw than to blit over the balls.
+		setLayerStatic(-1, true);
+
+		addRectangle(table);
+		
+		addLine(trajectory);
+		trajectory.setArrowSize(5);
+
+		for (int i = 0; i < balls.length; i++)
+		{
+			addBall(balls[i]);
+		}
+
+		addRectangle(powerBarUnderlay);		
+		addRectangle(powerBar[0]);
+		addText(powerText);
+		addText(turn);
+		addText(player1ColourText);
+		addText(player2ColourText);
+		addText(turnText);
+		addText(turnNumberText);
+		addText(player1Colour);
+		addText(player2Colour);
+		
+
+		for (int i = 0; i < pocketCircles.length; i++)
+		{
+			addBall(pocketCircles[i]);
+		}	
+		
+		for (int i = 0; i < pocketRectangles.length; i++)
+		{
+			addRectangle(pocketRectangles[i]);
+		}
+
+		for (int i = 0; i < cushions.length; i++)
+		{
+			addRectangle(cushions[i]);
+		}
+	}
+
+	/**
+	 * Obtains the game being drawn in this GameArena.
+	 * @return the game, which can also be played without a display.
+	 */
+	public PoolGame getPoolGame()
+	{
+		return pool;
+	}
+
+	public void increasePower() // increases power
+	{
+		if (powerIncrement == 20)
+			return;
+		else			
+			addRectangle(powerBar[powerIncrement]);
+			powerIncrement++;	
+		
+	}
+
+	public void decreasePower() // decreases power
+	{
+		if (powerIncrement == 1)
+			return;
+		else					
+			removeRectangle(powerBar[powerIncrement-1]);
+			powerIncrement--;
+		
+	}
+
+	public void rotateClockwise() // rotates by 1 degrees
+	{
+		rotationalIncrement++;
+		trajectory.setXEnd(balls[0].getXPosition() + (lineSize * Math.cos((rotationalIncrement + 0.25*rotationalIncrementSlow)*Math.PI/90)));
+		trajectory.setYEnd(balls[0].getYPosition() + (lineSize * Math.sin((rotationalIncrement + 0.25*rotationalIncrementSlow)*Math.PI/90)));
+		trajectory.recalculateArrowhead();
+		
+	}
+
+	public void rotateAntiClockwise() // rotates by 1 degrees
+	{
+		rotationalIncrement--;
+		trajectory.setXEnd(balls[0].getXPosition() + (lineSize * Math.cos((rotationalIncrement + 0.25*rotationalIncrementSlow)*Math.PI/90)));
+		trajectory.setYEnd(balls[0].getYPosition() + (lineSize * Math.sin((rotationalIncrement + 0.25*rotationalIncrementSlow)*Math.PI/90)));
+		trajectory.recalculateArrowhead();		
+		
+	}
+
+	public void rotateClockwiseSlow() // rotates by 0.25 degrees
+	{
+		rotationalIncrementSlow++;
+		trajectory.setXEnd(balls[0].getXPosition() + (lineSize * Math.cos((rotationalIncrement + 0.25*rotationalIncrementSlow)*Math.PI/90)));
+		trajectory.setYEnd(balls[0].getYPosition() + (lineSize * Math.sin((rotationalIncrement + 0.25*rotationalIncrementSlow)*Math.PI/90)));
+		trajectory.recalculateArrowhead();
+		
+	}
+
+	public void rotateAntiClockwiseSlow() // rotates by 0.25 degrees
+	{
+		rotationalIncrementSlow--;
+		trajectory.setXEnd(balls[0].getXPosition() + (lineSize * Math.cos((rotationalIncrement + 0.25*rotationalIncrementSlow)*Math.PI/90)));
+		trajectory.setYEnd(balls[0].getYPosition() + (lineSize * Math.sin((rotationalIncrement + 0.25*rotationalIncrementSlow)*Math.PI/90)));
+		trajectory.recalculateArrowhead();		
+		
+	}
+
+	public void play () // plays game, all at once, on the calling thread
+	{
+		if (loop.isPlaying()) // a shot is already being played by the game loop
+			return;
+
+		double velSF = 0.001; //velocity scaling factor		
+		double dx = trajectory.getXEnd() - trajectory.getXStart();
+		double dy = trajectory.getYEnd() - trajectory.getYStart();
+
+		synchronized (this)
+		{
+			ShotResult result = pool.play(Math.atan2(dy, dx), Math.sqrt(dx*dx + dy*dy) * velSF * powerIncrement);
+			ballsMoved(); // the simulator moves the balls without telling the arena
+			shotPlayed(result);
+		}
+	}
+
+	public void shoot () // plays game, animating the shot on the game loop's simulation thread
+	{
+		double velSF = 0.001; //velocity scaling factor		
+		double dx = trajectory.getXEnd() - trajectory.getXStart();
+		double dy = trajectory.getYEnd() - trajectory.getYStart();
+
+		loop.play(Math.atan2(dy, dx), Math.sqrt(dx*dx + dy*dy) * velSF * powerIncrement);
+	}
+
+	/**
+	 * Obtains the loop that animates shots played with shoot().
+	 * @return the game loop.
+	 */
+	public GameLoop getGameLoop()
+	{
+		return loop;
+	}
+
+	/**
+	 * Updates the board after a shot - <p><B>YOU DO NOT (AND SHOULD NOT) NEED TO CALL THIS METHOD.</b></p>
+	 * The board is updated while holding this GameArena's lock, so no snapshot of the scene shows it half updated.
+	 * Any keys held back while the shot was being played are then acted on, unless the shot was abandoned, in which case they are dropped.
+	 * @param result everything that happened during the shot, or null if the game loop abandoned it part way through.
+	 */
+	public synchronized void shotPlayed(ShotResult result)
+	{
+		if (result != null) // an abandoned shot has nothing to measure
+		{
+			metrics.shotPlayed(result);
+			statistics.shotPlayed(result);
+		}
+
+		if (overlay != null) // shows the shot in the metrics overlay straight away
+			updateOverlay();
+
+		if (pool.getCurrentPlayer() == 1) // detects if p1 to go next
+			turn.setText("Player 1's Turn");
+		else if (pool.getCurrentPlayer() == 2) // detects if p2 to go next
+			turn.setText("Player 2's Turn");
+
+		for (int i = 0; i < balls.length; i++) // takes potted balls off the table
+		{
+			if (!balls[i].getActive())
+				removeBall(balls[i]);
+		}
+
+		if (player1Colour.getText().equals("")) // shows colours once they have been assigned
+		{
+			player1Colour.setText(pool.getPlayer1().getColour());
+			player2Colour.setText(pool.getPlayer2().getColour());
+		}
+
+		if (pool.getWinner() != 0 && winnerText == null) // win condition satisfied
+		{
+			winnerText = new Text("Player " + pool.getWinner() + " wins!", 30, 800, 900, "WHITE", 2);
+			addText(winnerText);
+		}
+
+		turnNumberText.setText(String.valueOf(pool.getTurnNumber())); // counts turn number
+	
+		trajectory.setLinePosition(balls[0].getXPosition(), balls[0].getYPosition(), balls[0].getXPosition() + (200 * Math.cos((rotationalIncrement + 0.25*rotationalIncrementSlow)*Math.PI/90)), balls[0].getYPosition() + (200 * Math.sin((rotationalIncrement + 0.25*rotationalIncrementSlow)*Math.PI/90)));	// attaches trajectory arrow to white ball	
+
+		if (result == null) // the keys were pressed to aim after a shot that never finished
+			heldKeys.clear();
+
+		while (!heldKeys.isEmpty() && !loop.isPlaying()) // acts on the keys held back while the shot was being played
+			keyAction(heldKeys.poll(), true);
+	}
+
+	public void changeLineSize() // extents arrow for an easier shot
+	{
+		if(lineSize == 200)
+			lineSize = 300;
+		else if (lineSize == 300)
+			lineSize = 400;
+		else if (lineSize == 400)
+			lineSize = 100;
+		else if(lineSize == 100)
+			lineSize = 200;
+
+		trajectory.setXEnd(balls[0].getXPosition() + (lineSize * Math.cos((rotationalIncrement + 0.25*rotationalIncrementSlow)*Math.PI/90)));
+		trajectory.setYEnd(balls[0].getYPosition() + (lineSize * Math.sin((rotationalIncrement + 0.25*rotationalIncrementSlow)*Math.PI/90)));
+		trajectory.recalculateArrowhead();
+	}
+	
+}
+	
+	
\ No newline at end of file
@@ -0,0 +1,188 @@
+package coolpool;
+
+import javax.swing.*;
+import java.util.concurrent.*;
+
+/**
+ * Plays shots out on a simulation thread of their own, so that they can be watched, rather than all at once on the event dispatch thread.
+ * Each shot is handed to the simulation thread as a command, and the caller carries on at once, however long the shot takes.
+ * The physics is advanced by one frame of the ShotSimulator on every tick of a fixed clock, however often the screen is drawn.
+ * Balls are drawn between their positions at the last two ticks, by how far the clock has got towards the next tick,
+ * so they move smoothly whatever the display rate.
+ *
+ * Ticks are taken while holding the GameArena's lock, so a snapshot of the scene is never taken part way through a tick.
+ */
+public class GameLoop
+{
+	public static final int TICKS_PER_SECOND = 250;					// The number of frames of a shot played each second
+	private static final long TICK = 1000000000L / TICKS_PER_SECOND;	// The time between ticks, in nanoseconds
+	private static final int MAX_CATCH_UP = 10;						// The most ticks taken at once after the thread falls behind
+
+	private GameArena arena;				// The arena the shot is drawn in, whose lock is held during each tick
+	private PoolGame pool;					// The game the shot is played in
+	private volatile boolean playing;		// Set while a shot is being played
+	private long lastTick;					// The time of the last tick, from System.nanoTime(). Guarded by the arena's lock
+	private boolean ticking;				// Set until the last tick of a shot has been taken. Guarded by the arena's lock
+	private ExecutorService simulation;		// The thread shots are played on, one at a time
+
+	/**
+	 * Constructor. Creates a GameLoop for the given game.
+	 * @param arena the arena the game is drawn in.
+	 * @param pool the game to play shots in.
+	 */
+	public GameLoop(GameArena arena, PoolGame pool)
+	{
+		this.arena = arena;
+		this.pool = pool;
+
+		simulation = Executors.newSingleThreadExecutor(r ->
+		{
+			Thread t = new Thread(r, "Simulation");
+			t.setDaemon(true);
+			return t;
+		});
+	}
+
+	/**
+	 * Hands a shot by the current player to the simulation thread. Returns at once; the GameArena is told when the shot is over.
+	 *
+	 * @param angle the direction the white ball is struck in, in radians clockwise from the positive x axis.
+	 * @param power the speed the white ball is struck at, in pixels per frame.
+	 * @return true if the shot was started, false if another shot is still being played or the loop has been shut down.
+	 */
+	public boolean play(double angle, double power)
+	{
+		synchronized (arena)
+		{
+			if (playing || simulation.isShutdown())
+				return false;
+
+			playing = true;
+		}
+
+		simulation.execute(() -> this.run(angle, power));
+
+		return true;
+	}
+
+	/**
+	 * Stops playing shots. A shot being played is abandoned, and no more are started.
+	 */
+	public void shutdown()
+	{
+		simulation.shutdownNow();
+	}
+
+	/**
+	 * Determines if a shot is being played.
+	 * @return true from when a shot is started until the arena has been told it is over, false otherwise.
+	 */
+	public boolean isPlaying()
+	{
+		return playing;
+	}
+
+	/**
+	 * Obtains the time of the last tick. Must be called while holding the arena's lock.
+	 * @return the time, from System.nanoTime().
+	 */
+	public long getTickTime()
+	{
+		return lastTick;
+	}
+
+	/**
+	 * Obtains the time between ticks of the shot being played. Must be called while holding the arena's lock.
+	 * @return the time in nanoseconds, or 0 if no shot is being played, in which case balls are drawn where they are.
+	 */
+	public long getTickLength()
+	{
+		return ticking ? TICK : 0;
+	}
+
+	/**
+	 * Strikes the white ball and ticks until the shot is over, then hands its result to the arena on the event dispatch thread.
+	 * The arena is told whatever happens: if the shot fails part way through or the loop is shut down, it is told the shot was abandoned.
+	 * Run on the simulation thread.
+	 */
+	private void run(double angle, double power)
+	{
+		TableState state = pool.getTableState();
+		ShotResult result = null;
+
+		try
+		{
+			synchronized (arena)
+			{
+				state.keepPositions();
+				pool.startShot(angle, power);
+				lastTick = System.nanoTime();
+				ticking = true;
+			}
+
+			long next = lastTick + TICK;
+
+			while (result == null)
+			{
+				long wait = next - System.nanoTime();
+
+				if (wait > 0)
+					Thread.sleep(wait / 1000000, (int) (wait % 1000000));
+
+				synchronized (arena)
+				{
+					long now = System.nanoTime();
+
+					// If the thread has fallen well behind, drop the time it has lost rather than trying to make it all up.
+					if (now - next > MAX_CATCH_UP * TICK)
+						next = now - MAX_CATCH_UP * TICK;
+
+					while (result == null && next <= now)
+					{
+						state.keepPositions();
+						result = pool.stepShot();
+						lastTick = next;
+						next += TICK;
+					}
+
+					if (result != null)
+						ticking = false;
+
+					arena.ballsMoved();
+				}
+			}
+		}
+		catch (InterruptedException e)
+		{
+			// The loop has been shut down, so the shot is abandoned.
+		}
+		finally
+		{
+			synchronized (arena)
+			{
+				ticking = false;
+			}
+
+			this.finish(result);
+		}
+	}
+
+	/**
+	 * Hands the result of a shot to the arena on the event dispatch thread, and lets another shot be played.
+	 * The shot counts as being played until the arena has caught up with it, so another cannot start before then.
+	 * The result is applied in one go while holding the arena's lock, so no snapshot of the scene shows it half applied.
+	 *
+	 * @param result everything that happened during the shot, or null if it was abandoned.
+	 */
+	private void finish(ShotResult result)
+	{
+		SwingUtilities.invokeLater(() ->
+		{
+			synchronized (arena)
+			{
+				playing = false;
+				arena.shotPlayed(result);
+			}
+		});
+	}
+}
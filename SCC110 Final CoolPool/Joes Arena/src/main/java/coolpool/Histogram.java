@@ -0,0 +1,122 @@
+package coolpool;
+
+/**
+ * Counts how often values of each size have been recorded, in a fixed number of buckets, so that percentiles
+ * can be read back without keeping the values themselves. Values below 16 have a bucket each; above that, each power
+ * of two is split into 8 buckets, so a percentile is never out by more than an eighth of its value.
+ * Recording a value allocates nothing and takes the same time however many values have been recorded.
+ */
+public class Histogram
+{
+	private static final int EXACT = 16;			// Values below this have a bucket of their own
+	private static final int SPLITS = 8;			// The number of buckets each larger power of two is split into
+	private static final int SHIFT = 3;				// log2(SPLITS)
+	private static final int BUCKETS = EXACT + (63 - 4) * SPLITS;	// Enough buckets for any long
+
+	private long [] counts = new long[BUCKETS];		// The number of values recorded in each bucket
+	private long count;								// The number of values recorded
+	private long total;								// The sum of the values recorded
+	private long max;								// The largest value recorded
+
+	/**
+	 * Records a value.
+	 * @param value the value, which is taken as 0 if negative.
+	 */
+	public synchronized void record(long value)
+	{
+		value = Math.max(0, value);
+
+		counts[Histogram.bucket(value)]++;
+		count++;
+		total += value;
+		max = Math.max(max, value);
+	}
+
+	/**
+	 * Obtains the number of values recorded.
+	 * @return the count.
+	 */
+	public synchronized long getCount()
+	{
+		return count;
+	}
+
+	/**
+	 * Obtains the largest value recorded.
+	 * @return the largest value, or 0 if none have been recorded.
+	 */
+	public synchronized long getMax()
+	{
+		return max;
+	}
+
+	/**
+	 * Obtains the mean of the values recorded.
+	 * @return the mean, or 0 if none have been recorded.
+	 */
+	public synchronized double getMean()
+	{
+		return count == 0 ? 0 : total / (double) count;
+	}
+
+	/**
+	 * Obtains a percentile of the values recorded: the value that the given percentage of them are no larger than.
+	 * @param percent the percentile, from 0 to 100, such as 50 for the median.
+	 * @return the largest value that falls in the same bucket as the percentile, or 0 if no values have been recorded.
+	 */
+	public synchronized long getPercentile(double percent)
+	{
+		long rank = (long) Math.ceil(count * Math.max(0, Math.min(100, percent)) / 100);
+		long seen = 0;
+
+		for (int i = 0; i < BUCKETS; i++)
+		{
+			seen += counts[i];
+
+			if (seen >= rank && seen > 0)
+				return Math.min(max, Histogram.top(i));
+		}
+
+		return 0;
+	}
+
+	/**
+	 * Forgets every value recorded.
+	 */
+	public synchronized void reset()
+	{
+		java.util.Arrays.fill(counts, 0);
+		count = 0;
+		total = 0;
+		max = 0;
+	}
+
+	//
+	// Finds the bucket a value is counted in.
+	//
+	private static int bucket(long value)
+	{
+		if (value < EXACT)
+			return (int) value;
+
+		int power = 63 - Long.numberOfLeadingZeros(value);
+		int split = (int) (value >>> (power - SHIFT)) & (SPLITS - 1);
+
+		return EXACT + (power - 4) * SPLITS + split;
+	}
+
+	//
+	// Finds the largest value counted in a bucket.
+	//
+	private static long top(int bucket)
+	{
+		if (bucket < EXACT)
+			return bucket;
+
+		int power = (bucket - EXACT) / SPLITS + 4;
+		int split = (bucket - EXACT) % SPLITS;
+		long width = 1L << (power - SHIFT);
+
+		return (SPLITS + split) * width + width - 1;
+	}
+}
@@ -1,9 +1,14 @@
+package coolpool;
+
+import java.awt.*;
+import java.awt.geom.*;
+
 /**
  * Models a simple line. 
  * This class represents a Line object. When combined with the GameArena class,
  * instances of the Line class can be displayed on the screen.
  */
-public class Line 
+public class Line implements Drawable
 {
 	// The following instance variables define the
 	// information needed to represent a line.
@@ -25,6 +30,8 @@ public class Line
 												// BLACK, BLUE, CYAN, DARKGREY, GREY,
 												// GREEN, DARKGREEN, LIGHTGREY, MAGENTA, ORANGE,
 												// PINK, RED, WHITE, YELLOW, BROWN 
+	private Color paletteColour = Color.WHITE;	// The colour of this line, as looked up in the Palette
+	private DrawList drawList;					// The DrawList holding this line, told whenever this line changes
 
 	/**
 	 * Obtains the start position of this line on the X axis.
@@ -125,13 +132,14 @@ public class Line
 	public void setXEnd(double x)
 	{
 		this.xEnd = x;
-		
+		this.changed();
 	}
 
 	public void setYEnd(double y)
 	{
 		
 		this.yEnd = y;
+		this.changed();
 	}
 
 	/**
@@ -193,6 +201,7 @@ public class Line
 	{
 		width = thickness;
 		colour = col;
+		paletteColour = Palette.get(col);
 		layer = lay;
 		arrowSize = 0;
 		this.setLinePosition(x1, y1, x2, y2);
@@ -211,11 +220,30 @@ public class Line
 	{
 		width = thickness;
 		colour = col;
+		paletteColour = Palette.get(col);
 		layer = 0;
 		arrowSize = 0;
 		this.setLinePosition(x1, y1, x2, y2);
 	}
 	
+	/**
+	 * Constructor. Creates a frozen copy of a Line, as it is now.
+	 */
+	private Line(Line l)
+	{
+		xStart = l.xStart;
+		yStart = l.yStart;
+		xEnd = l.xEnd;
+		yEnd = l.yEnd;
+		width = l.width;
+		arrowSize = l.arrowSize;
+		arrowX = l.arrowX.clone();
+		arrowY = l.arrowY.clone();
+		layer = l.layer;
+		colour = l.colour;
+		paletteColour = l.paletteColour;
+	}
+
 	public void recalculateArrowhead()
 	{
 		// Calculate component distances and length
@@ -239,5 +267,97 @@ public class Line
 		arrowY[0] = (int) yEnd;
 		arrowY[1] = (int) ((yStart + ly * arrowRatio) + dx * arrowSize);
 		arrowY[2] = (int) ((yStart + ly * arrowRatio) - dx * arrowSize);
+
+		this.changed();
+	}
+
+	/**
+	 * Draws this Line, and its arrowhead if it has one. Called by the GameArena it has been added to.
+	 * @param r the renderer to draw with.
+	 */
+	public void draw(Renderer r)
+	{
+		r.setColour(paletteColour);
+		r.setLineWidth(width);
+
+		float sx = (float)xStart;
+		float sy = (float)yStart;
+		float ex = (float)xEnd;
+		float ey = (float)yEnd;
+
+		if (arrowSize > 0)
+		{
+			float arrowRatio = (float) (1.0 - ((width * arrowSize) / this.getLength()));
+			ex = sx + ((ex - sx) * arrowRatio); 
+			ey = sy + ((ey - sy) * arrowRatio); 
+			r.fillPolygon(arrowX, arrowY, 3);
+		}
+		r.drawLine(sx,sy,ex,ey);
+	}
+
+	/**
+	 * Finds the area of the frame this Line and its arrowhead cover when they are drawn, allowing for the width of the line.
+	 * @param r the renderer the Line will be drawn with.
+	 * @param bounds set to the area, in pixels.
+	 */
+	public void getBounds(Renderer r, java.awt.Rectangle bounds)
+	{
+		double minX = Math.min(xStart, xEnd);
+		double minY = Math.min(yStart, yEnd);
+		double maxX = Math.max(xStart, xEnd);
+		double maxY = Math.max(yStart, yEnd);
+
+		if (arrowSize > 0)
+		{
+			for (int i = 0; i < 3; i++)
+			{
+				minX = Math.min(minX, arrowX[i]);
+				minY = Math.min(minY, arrowY[i]);
+				maxX = Math.max(maxX, arrowX[i]);
+				maxY = Math.max(maxY, arrowY[i]);
+			}
+		}
+
+		int pad = (int)Math.ceil(width) + 2;
+		int left = (int)Math.floor(minX) - pad;
+		int top = (int)Math.floor(minY) - pad;
+
+		bounds.setBounds(left, top, (int)Math.ceil(maxX) + pad + 1 - left, (int)Math.ceil(maxY) + pad + 1 - top);
+	}
+
+	/**
+	 * Makes a frozen copy of this Line, as it is now.
+	 * @return the copy.
+	 */
+	public Drawable freeze()
+	{
+		return new Line(this);
+	}
+
+	/**
+	 * Determines if this shape is drawn in a different place as the Renderer's blend changes, which a Line never is.
+	 * @return false.
+	 */
+	public boolean isAnimated()
+	{
+		return false;
+	}
+
+	/**
+	 * Tells this Line which DrawList it is held in, so that it can report changes to it. Called by DrawList.
+	 * @param list the list holding this Line, or null if it has been removed.
+	 */
+	public void setDrawList(DrawList list)
+	{
+		drawList = list;
+	}
+
+	/**
+	 * Reports a change to this Line to the DrawList holding it, if there is one.
+	 */
+	private void changed()
+	{
+		if (drawList != null)
+			drawList.changed(this);
 	}
 }
@@ -0,0 +1,131 @@
+package coolpool;
+
+/**
+ * Measures where a GameArena's time goes: how long frames take to draw and how often they are drawn,
+ * how much is drawn in each, and how much work each shot is. Each measure is kept in a Histogram.
+ * Nothing is measured until the metrics are enabled, so a disabled Metrics costs one volatile read per frame or shot.
+ *
+ * Frames are reported by the thread drawing them, and shots by whichever thread plays them; the histograms may be read from any thread.
+ */
+public class Metrics
+{
+	public static final int FRAME_TIME = 0;			// The time between frames while the scene is changing, in nanoseconds
+	public static final int PAINT_TIME = 1;			// The time taken to draw each frame into the buffer, in nanoseconds
+	public static final int OBJECTS = 2;			// The number of shapes in each frame drawn
+	public static final int COLLISIONS = 3;			// The number of collisions between balls in each shot
+	public static final int SIM_FRAMES = 4;			// The number of frames simulated in each shot
+	public static final int MEASURES = 5;			// The number of measures
+
+	private static final long IDLE = 1000000000L;	// Frames further apart than this, in nanoseconds, are taken to follow an idle table
+	private static final String [] NAMES = {"Frame time", "Paint time", "Objects", "Collisions", "Sim frames"};
+	private static final boolean [] TIMES = {true, true, false, false, false};
+
+	private Histogram [] histograms = new Histogram[MEASURES];
+	private volatile boolean enabled;				// Set while measuring
+	private long lastFrame;							// The time the last frame was started, or 0 if none has been measured
+
+	/**
+	 * Constructor. Creates a disabled Metrics with nothing measured.
+	 */
+	public Metrics()
+	{
+		for (int i = 0; i < MEASURES; i++)
+			histograms[i] = new Histogram();
+	}
+
+	/**
+	 * Determines if anything is being measured.
+	 * @return true if the metrics are enabled, false otherwise.
+	 */
+	public boolean isEnabled()
+	{
+		return enabled;
+	}
+
+	/**
+	 * Starts or stops measuring. What has been measured so far is kept.
+	 * @param enabled true to measure frames and shots, false to stop.
+	 */
+	public void setEnabled(boolean enabled)
+	{
+		this.enabled = enabled;
+	}
+
+	/**
+	 * Records a frame that drew something. Called by the thread drawing frames.
+	 *
+	 * @param start the time the frame was started, from System.nanoTime().
+	 * @param end the time the frame was drawn into the buffer, from System.nanoTime().
+	 * @param objects the number of shapes in the frame.
+	 */
+	public void frameDrawn(long start, long end, int objects)
+	{
+		if (!enabled)
+			return;
+
+		// The first frame after the table has sat idle says nothing about the frame rate, so only its own cost is counted.
+		if (lastFrame != 0 && start - lastFrame < IDLE)
+			histograms[FRAME_TIME].record(start - lastFrame);
+
+		lastFrame = start;
+		histograms[PAINT_TIME].record(end - start);
+		histograms[OBJECTS].record(objects);
+	}
+
+	/**
+	 * Records a shot that has been played.
+	 * @param result everything that happened during the shot.
+	 */
+	public void shotPlayed(ShotResult result)
+	{
+		if (!enabled)
+			return;
+
+		histograms[COLLISIONS].record(result.count(ShotEvent.Type.COLLISION));
+		histograms[SIM_FRAMES].record(result.getFrames());
+	}
+
+	/**
+	 * Obtains the histogram of one measure.
+	 * @param measure the measure, such as FRAME_TIME.
+	 * @return the histogram, which is still being added to while the metrics are enabled.
+	 */
+	public Histogram getHistogram(int measure)
+	{
+		return histograms[measure];
+	}
+
+	/**
+	 * Obtains the name of one measure.
+	 * @param measure the measure, such as FRAME_TIME.
+	 * @return the name, such as "Frame time".
+	 */
+	public String getName(int measure)
+	{
+		return NAMES[measure];
+	}
+
+	/**
+	 * Describes the median, 99th percentile and largest value of one measure, in milliseconds for times.
+	 * @param measure the measure, such as FRAME_TIME.
+	 * @return a line of text, such as "Frame time  p50 16.7  p99 18.2  max 21.0 ms".
+	 */
+	public String describe(int measure)
+	{
+		Histogram h = histograms[measure];
+
+		if (TIMES[measure])
+			return String.format("%s  p50 %.1f  p99 %.1f  max %.1f ms", NAMES[measure], h.getPercentile(50) / 1e6, h.getPercentile(99) / 1e6, h.getMax() / 1e6);
+
+		return String.format("%s  p50 %d  p99 %d  max %d", NAMES[measure], h.getPercentile(50), h.getPercentile(99), h.getMax());
+	}
+
+	/**
+	 * Forgets everything measured so far.
+	 */
+	public void reset()
+	{
+		for (int i = 0; i < MEASURES; i++)
+			histograms[i].reset();
+	}
+}
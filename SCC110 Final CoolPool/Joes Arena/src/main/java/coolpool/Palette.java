@@ -0,0 +1,85 @@
+package coolpool;
+
+import java.awt.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Turns the textual colours used by shapes into Colors. Each distinct colour is held as a single shared Color,
+ * so shapes look up their colour once, when it is set, and shapes of the same colour share one Color object.
+ */
+public class Palette
+{
+	private static final HashMap<String, Color> names = new HashMap<>();	// The named colours, which are only added to while the class is loaded
+	private static final ConcurrentHashMap<Integer, Color> values = new ConcurrentHashMap<>();	// The shared Color for each RGB value
+
+	static
+	{
+		name("BLACK", Color.BLACK);
+		name("BLUE", Color.BLUE);
+		name("CYAN", Color.CYAN);
+		name("DARKGREY", Color.DARK_GRAY);
+		name("GREY", Color.GRAY);
+		name("GREEN", Color.GREEN);
+		name("LIGHTGREY", Color.LIGHT_GRAY);
+		name("MAGENTA", Color.MAGENTA);
+		name("ORANGE", Color.ORANGE);
+		name("PINK", Color.PINK);
+		name("RED", Color.RED);
+		name("WHITE", Color.WHITE);
+		name("YELLOW", Color.YELLOW);
+	}
+
+	private Palette()
+	{
+	}
+
+	/**
+	 * Obtains the Color for a textual colour.
+	 *
+	 * @param col the colour, in any case. Permissable colours are: BLACK, BLUE, CYAN, DARKGREY, GREY, GREEN, LIGHTGREY, MAGENTA, ORANGE, PINK, RED, WHITE, YELLOW or #RRGGBB.
+	 * @return the shared Color for that colour, or white if the colour is not recognised.
+	 */
+	public static Color get(String col)
+	{
+		if (col == null)
+			return Color.WHITE;
+
+		Color c = names.get(col);
+
+		if (c == null)
+			c = resolve(col);
+
+		return c;
+	}
+
+	//
+	// Only called for colours that are not named in capitals, which shapes look up once, when their colour is set.
+	// Colours given as #RRGGBB share the Color held for their value, so nothing is kept for the text itself.
+	//
+	private static Color resolve(String col)
+	{
+		String name = col.toUpperCase();
+		Color c = names.get(name);
+
+		if (c != null)
+			return c;
+
+		if (name.length() == 7 && name.startsWith("#"))
+		{
+			try
+			{
+				return values.computeIfAbsent(Integer.parseInt(name.substring(1), 16), Color::new);
+			}
+			catch (NumberFormatException e) {}
+		}
+
+		return Color.WHITE;
+	}
+
+	private static void name(String name, Color c)
+	{
+		names.put(name, c);
+		values.put(c.getRGB() & 0xFFFFFF, c);
+	}
+}
@@ -1,3 +1,5 @@
+package coolpool;
+
 public class Player
 {
     int player;
@@ -0,0 +1,530 @@
+package coolpool;
+
+/**
+ * Models a game of pool between two players: the balls and pockets on the table,
+ * whose turn it is, and the rules applied after every collision and pot.
+ * This class has no dependency on Swing, so shots can be played without a display.
+ * A GameArena can be used to draw the game on the screen.
+ */
+public class PoolGame implements ShotListener
+{
+	private Player player1 = new Player(1, true, "");
+	private Player player2 = new Player(2, false, "");
+
+	private Ball [] balls = new Ball[16];
+	private Rectangle [] cushions = new Rectangle[4];
+	private Ball [] pocketCircles = new Ball[6];
+	private TableState state = new TableState(16);
+	private ShotSimulator simulator;
+
+	private int turnNumber;
+	private int [] queue = {player1.getPlayer(), player2.getPlayer()};
+	private int winner;
+
+	private ShotResult result; // the result of the shot currently being played
+	private int frame; // the frame of the shot currently being played
+	private long simulationTime; // the time spent simulating the shot currently being played, in nanoseconds
+	private FlightEvents.Shot shotEvent; // the flight recorder event of the shot currently being played, or null if it is not being recorded
+	private boolean firstCollision = false;
+	private boolean foulType1; // one turn foul
+	private boolean foulType2; // end game foul
+	private boolean doubleShot;
+
+	/**
+	 * Constructor. Creates a PoolGame with the balls racked, ready for player 1 to break.
+	 */
+	public PoolGame()
+	{
+		balls[0] = new Ball(400, 450, 20, "WHITE");
+		balls[1] = new Ball(1000, 450, 20, "BLACK");
+		balls[2] = new Ball(960, 450, 20, "RED");
+		balls[3] = new Ball(980, 440, 20, "RED");
+		balls[4] = new Ball(1000, 430, 20, "RED");
+		balls[5] = new Ball(1020, 460, 20, "RED");
+		balls[6] = new Ball(1020, 420, 20, "RED");
+		balls[7] = new Ball(1040, 430, 20, "RED");
+		balls[8] = new Ball(1040, 490, 20, "RED");
+		balls[9] = new Ball(980, 460, 20, "YELLOW");
+		balls[10] = new Ball(1000, 470, 20, "YELLOW");
+		balls[11] = new Ball(1020, 440, 20, "YELLOW");
+		balls[12] = new Ball(1020, 480, 20, "YELLOW");
+		balls[13] = new Ball(1040, 470, 20, "YELLOW");
+		balls[14] = new Ball(1040, 450, 20, "YELLOW");
+		balls[15] = new Ball(1040, 410, 20, "YELLOW");
+
+		for (int i = 0; i < balls.length; i++)
+		{
+			balls[i].setActive(true);
+			state.add(balls[i]);
+		}
+
+		// The cushions and pockets are on layer 1, so that they are drawn over balls rolling into them.
+		cushions[0] = new Rectangle(50, 50, 1400, 20, "GREEN", 1);
+		cushions[1] = new Rectangle(50, 50, 20, 800, "GREEN", 1);
+		cushions[2] = new Rectangle(50, 830, 1400, 20, "GREEN", 1);
+		cushions[3] = new Rectangle(1430, 50, 20, 800, "GREEN", 1);
+
+		pocketCircles[0] = new Ball(80, 80, 40, "BLACK", 1);
+		pocketCircles[1] = new Ball(1420, 80, 40, "BLACK", 1);
+		pocketCircles[2] = new Ball(80, 820, 40, "BLACK", 1);
+		pocketCircles[3] = new Ball(1420, 820, 40, "BLACK", 1);
+		pocketCircles[4] = new Ball(750, 80, 40, "BLACK", 1);
+		pocketCircles[5] = new Ball(750, 820, 40, "BLACK", 1);
+
+		simulator = new ShotSimulator(cushions, pocketCircles);
+	}
+
+	/**
+	 * Obtains the balls on the table. The white ball is always at index 0 and the black at index 1.
+	 * @return the balls, including those that have been potted.
+	 */
+	public Ball [] getBalls()
+	{
+		return balls;
+	}
+
+	/**
+	 * Obtains the position, speed and active flag of every ball, as flat arrays.
+	 * @return the state of the balls on the table.
+	 */
+	public TableState getTableState()
+	{
+		return state;
+	}
+
+	/**
+	 * Obtains the cushions of the table.
+	 * @return the cushions, in the order top, left, bottom, right.
+	 */
+	public Rectangle [] getCushions()
+	{
+		return cushions;
+	}
+
+	/**
+	 * Obtains the pockets of the table.
+	 * @return the pockets.
+	 */
+	public Ball [] getPocketCircles()
+	{
+		return pocketCircles;
+	}
+
+	public Player getPlayer1()
+	{
+		return player1;
+	}
+
+	public Player getPlayer2()
+	{
+		return player2;
+	}
+
+	/**
+	 * Determines whose turn it is.
+	 * @return 1 or 2, for the player to take the next shot.
+	 */
+	public int getCurrentPlayer()
+	{
+		return queue[0];
+	}
+
+	public int getTurnNumber()
+	{
+		return turnNumber;
+	}
+
+	/**
+	 * Determines who has won the game.
+	 * @return 1 or 2 for the winning player, or 0 if the game is still being played.
+	 */
+	public int getWinner()
+	{
+		return winner;
+	}
+
+	/**
+	 * Obtains the simulator used to play shots on this table.
+	 * @return the simulator.
+	 */
+	public ShotSimulator getSimulator()
+	{
+		return simulator;
+	}
+
+	/**
+	 * Changes the simulator used to play shots on this table, for example to an EventSimulator.
+	 * @param simulator the new simulator. This must have been created with this table's cushions and pockets.
+	 */
+	public void setSimulator(ShotSimulator simulator)
+	{
+		this.simulator = simulator;
+	}
+
+	/**
+	 * Plays a shot by the current player, and decides whose turn it is next.
+	 *
+	 * @param angle the direction the white ball is struck in, in radians clockwise from the positive x axis.
+	 * @param power the speed the white ball is struck at, in pixels per frame.
+	 * @return everything that happened during the shot.
+	 */
+	public ShotResult play(double angle, double power)
+	{
+		this.strike(angle, power);
+
+		long start = System.nanoTime();
+		int frames = simulator.simulate(state, this);
+		simulationTime = System.nanoTime() - start;
+
+		return this.settle(frames);
+	}
+
+	/**
+	 * Starts playing a shot by the current player one frame at a time, so that it can be animated.
+	 * Call stepShot() until it returns the result of the shot.
+	 *
+	 * @param angle the direction the white ball is struck in, in radians clockwise from the positive x axis.
+	 * @param power the speed the white ball is struck at, in pixels per frame.
+	 */
+	public void startShot(double angle, double power)
+	{
+		this.strike(angle, power);
+		simulator.begin(state);
+	}
+
+	/**
+	 * Plays the next frame of a shot started with startShot(). Once the shot is over, decides whose turn it is next.
+	 * @return everything that happened during the shot once it is over, or null while it is still being played.
+	 */
+	public ShotResult stepShot()
+	{
+		long start = System.nanoTime();
+		boolean moving = simulator.step(state, this);
+		simulationTime += System.nanoTime() - start;
+
+		if (moving)
+			return null;
+
+		return this.settle(simulator.finish());
+	}
+
+	/**
+	 * Sets the white ball moving at the start of a shot.
+	 */
+	private void strike(double angle, double power)
+	{
+		result = new ShotResult();
+		frame = 0;
+		simulationTime = 0;
+
+		if (FlightEvents.SHOT.isEnabled())
+		{
+			shotEvent = new FlightEvents.Shot();
+			shotEvent.player = getCurrentPlayer();
+			shotEvent.angle = angle;
+			shotEvent.power = power;
+			shotEvent.begin();
+		}
+
+		balls[0].setSpeedX(power * Math.cos(angle));
+		balls[0].setSpeedY(power * Math.sin(angle));
+	}
+
+	/**
+	 * Applies the rules at the end of a shot, and decides whose turn it is next.
+	 */
+	private ShotResult settle(int frames)
+	{
+		frame = frames;
+		result.setFrames(frame);
+		result.setSimulationTime(simulationTime);
+
+		if (!firstCollision) // detects full miss
+			foul();
+
+		if (foulType1) // calls the foul in force at the end of the shot, once, however many wrong balls were hit
+			result.addEvent(new ShotEvent(ShotEvent.Type.FOUL, frame, -1, -1));
+
+		queueDeterminer();	//detects whos turn it id next
+
+		if (queue[0] == 1) // detects if p1 to go next
+		{
+			player1.setActive(true);
+			player2.setActive(false);
+		}
+		else if (queue[0] == 2) // detects if p2 to go next
+		{
+			player1.setActive(false);
+			player2.setActive(true);
+		}
+
+		turnNumber++;
+
+		result.setFoul(foulType1);
+		result.setNextPlayer(queue[0]);
+		result.setWinner(winner);
+
+		reset(); // sets vel to 0 for all balls and resets fouls
+
+		if (shotEvent != null)
+		{
+			shotEvent.frames = frames;
+			shotEvent.commit();
+			shotEvent = null;
+		}
+
+		return result;
+	}
+
+	/**
+	 * Applies the foul rules after two balls collide - <p><B>YOU DO NOT (AND SHOULD NOT) NEED TO CALL THIS METHOD.</b></p>
+	 */
+	public void collision(int frame, int i, int j)
+	{
+		this.frame = frame;
+		result.addEvent(new ShotEvent(ShotEvent.Type.COLLISION, frame, i, j));
+
+		firstCollision = true;
+
+		if (player1.getColour() == "" || player2.getColour() == "" && balls[i].getColour() == "WHITE") // case no colours assigned
+			foulType1 = false;
+		else if (player1.getActive() && player1.getColour() != balls[j].getColour() && balls[i].getColour() == "WHITE")	// case p1 colour assigned but missed their colour
+			foul();
+		else if (player2.getActive() && player2.getColour() != balls[j].getColour() && balls[i].getColour() == "WHITE")	// case p2 colour assigned but missed their colour
+			foul();
+		else foulType1 = false;
+	}
+
+	/**
+	 * Applies the pot rules after a ball drops into a pocket - <p><B>YOU DO NOT (AND SHOULD NOT) NEED TO CALL THIS METHOD.</b></p>
+	 */
+	public void potted(int frame, int i)
+	{
+		this.frame = frame;
+		result.addEvent(new ShotEvent(ShotEvent.Type.POT, frame, i, -1));
+
+		pot(balls[i]);
+	}
+
+	private void foul()
+	{
+		foulType1 = true;
+	}
+
+	public void queueDeterminer ()
+	{
+		if (doubleShot && !foulType1 && player1.getActive()) //double shot case
+		{
+			queue[0] = player1.getPlayer();
+			queue[1] = player2.getPlayer();
+		}
+		else if (doubleShot && !foulType1 && player2.getActive()) //double shot case
+		{
+			queue[0] = player2.getPlayer();
+			queue[1] = player1.getPlayer();
+		}
+		else if (queue[0] == queue[1] && player1.getActive() && !foulType1) //foul on the previous turn
+		{
+			queue[0] = player1.getPlayer();
+			queue[1] = player2.getPlayer();
+		}
+		else if (queue[0] == queue[1] && player2.getActive() && !foulType1) //foul on the previous turn
+		{
+			queue[0] = player2.getPlayer();
+			queue[1] = player1.getPlayer();
+		}
+		else if (!foulType1 && player1.getActive()) //no foul - normal case
+		{
+			queue[0] = player2.getPlayer();
+			queue[1] = player1.getPlayer();
+		}
+		else if (!foulType1 && player2.getActive()) //no foul - normal case
+		{
+			queue[0] = player1.getPlayer();
+			queue[1] = player2.getPlayer();
+		}
+		else if (foulType1 && player1.getActive()) //foul type 1 case
+		{
+			queue[0] = player2.getPlayer();
+			queue[1] = player2.getPlayer();
+		}
+		else if (foulType1 && player2.getActive()) //foul type 1 case
+		{
+			queue[0] = player1.getPlayer();
+			queue[1] = player1.getPlayer();
+		}
+
+		if (FlightEvents.TURN.isEnabled()) // records the decision for the flight recorder
+		{
+			FlightEvents.Turn event = new FlightEvents.Turn();
+			event.player = player1.getActive() ? player1.getPlayer() : player2.getPlayer();
+			event.nextPlayer = queue[0];
+			event.followingPlayer = queue[1];
+			event.foul = foulType1;
+			event.doubleShot = doubleShot;
+			event.commit();
+		}
+	}
+
+	public void pot(Ball b) //detects what colour ball was pot and calls function associated with that colour.
+	{
+		if (FlightEvents.POT.isEnabled()) // records the pot for the flight recorder
+		{
+			FlightEvents.Pot event = new FlightEvents.Pot();
+			event.colour = b.getColour();
+			event.frame = frame;
+			event.commit();
+		}
+
+		if (b.getColour() == "RED")
+		{
+			redBallPot(b);
+			doubleShot = true;
+		}
+
+		if (b.getColour() == "YELLOW")
+		{
+			yellowBallPot(b);
+			doubleShot = true;
+		}
+
+		if (b.getColour() == "WHITE")
+		{
+			whiteReset();
+			foul();
+		}
+
+		if (b.getColour() == "BLACK")
+		{
+			blackBallPot();
+		}
+
+	}
+
+	public void blackBallPot()
+	{
+		foulType2 = false;
+
+		for (int i = 0; i < balls.length; i++)
+		{
+			if (player1.getActive() && player1.getColour() == balls[i].getColour() && balls[i].getActive())	// detects if all balls are pot for p1
+				foulType2 = true;
+			else if (player2.getActive() && player2.getColour() == balls[i].getColour() && balls[i].getActive()) // detects if all balls are pot for p2
+				foulType2 = true;
+		}
+
+		if (foulType2 & player1.getActive())
+			winner = 2;
+		else if (foulType2 & player2.getActive())
+			winner = 1;
+		else if (!foulType2 & player1.getActive())
+			winner = 1;
+		else if (!foulType2 & player2.getActive())
+			winner = 2;
+
+	}
+
+	public void redBallPot(Ball b)
+	{
+
+		boolean firstPot = true; // detects if colours need assigning to players
+		boolean lastPot = true; // detects if player needs his colour reassigning to black.
+
+		for (int i = 2; i < balls.length; i++)
+		{
+			if (!balls[i].getActive())
+			{
+				firstPot = false; // if any balls are not active, change condition.
+			}
+		}
+
+		b.setActive(false);
+
+		if(firstPot && player1.getActive()) // if p1 pots first
+		{
+			player1.setColour("RED");
+			player2.setColour("YELLOW");
+		}
+
+		if(firstPot && player2.getActive())
+		{
+			player1.setColour("YELLOW");
+			player2.setColour("RED");
+		}
+
+		for (int i = 0; i < balls.length; i++)
+		{
+			if (balls[i].getActive() && balls[i].getColour() == "RED")
+				lastPot = false;  // if any red balls are active, change condition
+		}
+
+		if (lastPot && player1.getActive())
+			player1.setColour("BLACK");
+
+		if (lastPot && player2.getActive())
+			player2.setColour("BLACK");
+
+
+	}
+
+	public void yellowBallPot(Ball b)
+	{
+		boolean firstPot = true; // detects if colours need assigning to players
+		boolean lastPot = true; // detects if player needs his colour reassigning to black.
+
+		for (int i = 2; i < balls.length; i++)
+		{
+			if (!balls[i].getActive())
+			{
+				firstPot = false; // if any balls are not active, change condition.
+			}
+		}
+
+		b.setActive(false);
+
+		if(firstPot && player1.getActive()) // if p1 pots first
+		{
+			player1.setColour("YELLOW");
+			player2.setColour("RED");
+		}
+
+		if(firstPot && player2.getActive()) // if p2 pots first
+		{
+			player1.setColour("RED");
+			player2.setColour("YELLOW");
+		}
+
+		for (int i = 0; i < balls.length; i++)
+		{
+			if (balls[i].getActive() && balls[i].getColour() == "YELLOW")
+				lastPot = false; // if any yellow balls are active, change condition
+		}
+
+		if (lastPot && player1.getActive())
+			player1.setColour("BLACK");
+
+		if (lastPot && player2.getActive())
+			player2.setColour("BLACK");
+	}
+
+	public void whiteReset() // sets the white back to starting position
+	{
+		balls[0].setXPosition(400);
+		balls[0].setYPosition(450);
+		balls[0].setSpeedX(0);
+		balls[0].setSpeedY(0);
+	}
+
+	public void reset() // sets all balls to still and all rule to be unactive.
+	{
+		for (int i = 0; i < balls.length; i++)
+		{
+			balls[i].setSpeedX(0);
+			balls[i].setSpeedY(0);
+		}
+		firstCollision = false;
+		foulType1 = false;
+		foulType2 = false;
+		doubleShot = false;
+	}
+}
@@ -0,0 +1,196 @@
+package coolpool;
+
+import java.awt.*;
+import java.util.*;
+import java.util.List;
+
+/**
+ * Chooses the RenderingHints a GameArena draws with, trading picture quality for a steady frame rate.
+ * The time taken to draw each frame is measured, and every WINDOW frames the governor steps down to a cheaper
+ * profile if frames have been running over budget on average, or back up if even the slowest of them had plenty to spare.
+ * The first frames after a change are not counted, as the whole frame and the cached images are drawn again then.
+ *
+ * Only the thread drawing frames reports frames; the level may be read, or pinned, from any thread.
+ */
+public class QualityGovernor
+{
+	public static final int QUALITY = 0;				// Antialiased shapes, LCD text, bilinear images, pure strokes and dithering
+	public static final int BALANCED = 1;				// Antialiased shapes and greyscale text, without the slower quality hints
+	public static final int SPEED = 2;					// Greyscale text only, with nearest neighbour images and normalised strokes
+	public static final int FASTEST = 3;				// Nothing antialiased
+	public static final int LEVELS = 4;					// The number of profiles
+
+	public static final int WINDOW = 30;				// The number of frames measured before each decision
+	private static final int SETTLE = 2;				// The number of frames ignored after the level changes
+
+	private static final String [] NAMES = {"QUALITY", "BALANCED", "SPEED", "FASTEST"};
+	private static final List<Map<RenderingHints.Key, Object>> PROFILES = QualityGovernor.createProfiles();
+
+	private volatile int level = QUALITY;				// The profile frames are drawn with
+	private volatile boolean adaptive = true;			// Set if the level follows the time taken to draw frames
+	private volatile long budget = 1000000000L / 60;	// The time a frame may take to draw, in nanoseconds
+	private int frames;									// The number of frames measured since the last decision
+	private long total;									// The time taken to draw those frames, in nanoseconds
+	private long slowest;								// The time taken to draw the slowest of them, in nanoseconds
+	private int settling;								// The number of frames still to be ignored
+
+	/**
+	 * Records the time taken to draw a frame. Called by the thread drawing frames, after each frame that drew something.
+	 *
+	 * @param nanos the time taken, in nanoseconds.
+	 * @return true if the level has changed, in which case the next frame should be drawn in full with the new hints.
+	 */
+	public synchronized boolean frameDrawn(long nanos)
+	{
+		if (!adaptive)
+			return false;
+
+		if (settling > 0)
+		{
+			settling--;
+			return false;
+		}
+
+		frames++;
+		total += nanos;
+		slowest = Math.max(slowest, nanos);
+
+		if (frames < WINDOW)
+			return false;
+
+		long limit = budget;
+		int was = level;
+
+		if (total / frames > limit && was < FASTEST)
+			this.change(was + 1);
+		else if (slowest < limit / 2 && was > QUALITY)
+			this.change(was - 1);
+		else
+			this.restart();
+
+		return level != was;
+	}
+
+	/**
+	 * Obtains the profile frames are drawn with.
+	 * @return the level, from QUALITY to FASTEST.
+	 */
+	public int getLevel()
+	{
+		return level;
+	}
+
+	/**
+	 * Obtains the name of the profile frames are drawn with.
+	 * @return the name of the level, such as "QUALITY".
+	 */
+	public String getLevelName()
+	{
+		return NAMES[level];
+	}
+
+	/**
+	 * Sets the profile to draw frames with. If the governor is adaptive, it carries on from this level.
+	 * @param level the level, from QUALITY to FASTEST.
+	 */
+	public synchronized void setLevel(int level)
+	{
+		if (level < QUALITY || level > FASTEST)
+			throw new IllegalArgumentException("No such quality level " + level);
+
+		this.change(level);
+	}
+
+	/**
+	 * Obtains the RenderingHints of a profile.
+	 * @param level the level, from QUALITY to FASTEST.
+	 * @return the hints, which cannot be changed.
+	 */
+	public Map<RenderingHints.Key, Object> getHints(int level)
+	{
+		return PROFILES.get(level);
+	}
+
+	/**
+	 * Determines if the level follows the time taken to draw frames.
+	 * @return true if the governor is adaptive, false if the level is pinned.
+	 */
+	public boolean isAdaptive()
+	{
+		return adaptive;
+	}
+
+	/**
+	 * Makes the level follow the time taken to draw frames, or pins it where it is.
+	 * @param adaptive true to adapt the level, false to pin it.
+	 */
+	public void setAdaptive(boolean adaptive)
+	{
+		this.adaptive = adaptive;
+	}
+
+	/**
+	 * Sets the time a frame may take to draw before the governor steps down.
+	 * @param nanos the budget, in nanoseconds.
+	 */
+	public void setBudget(long nanos)
+	{
+		this.budget = Math.max(1, nanos);
+	}
+
+	/**
+	 * Obtains the time a frame may take to draw before the governor steps down.
+	 * @return the budget, in nanoseconds.
+	 */
+	public long getBudget()
+	{
+		return budget;
+	}
+
+	//
+	// Moves to a new level, and starts measuring again once the frames drawn with the old one are out of the way.
+	//
+	private void change(int level)
+	{
+		this.level = level;
+		this.restart();
+		settling = SETTLE;
+	}
+
+	private void restart()
+	{
+		frames = 0;
+		total = 0;
+		slowest = 0;
+	}
+
+	//
+	// Builds the hints for each level, from the best looking to the fastest.
+	//
+	private static List<Map<RenderingHints.Key, Object>> createProfiles()
+	{
+		List<Map<RenderingHints.Key, Object>> profiles = new ArrayList<>(LEVELS);
+
+		for (int i = 0; i < LEVELS; i++)
+		{
+			boolean quality = i == QUALITY;
+			boolean smooth = i <= BALANCED;
+			Map<RenderingHints.Key, Object> hints = new HashMap<>();
+
+			hints.put(RenderingHints.KEY_ALPHA_INTERPOLATION, quality ? RenderingHints.VALUE_ALPHA_INTERPOLATION_QUALITY : smooth ? RenderingHints.VALUE_ALPHA_INTERPOLATION_DEFAULT : RenderingHints.VALUE_ALPHA_INTERPOLATION_SPEED);
+			hints.put(RenderingHints.KEY_ANTIALIASING, smooth ? RenderingHints.VALUE_ANTIALIAS_ON : RenderingHints.VALUE_ANTIALIAS_OFF);
+			hints.put(RenderingHints.KEY_COLOR_RENDERING, quality ? RenderingHints.VALUE_COLOR_RENDER_QUALITY : smooth ? RenderingHints.VALUE_COLOR_RENDER_DEFAULT : RenderingHints.VALUE_COLOR_RENDER_SPEED);
+			hints.put(RenderingHints.KEY_DITHERING, quality ? RenderingHints.VALUE_DITHER_ENABLE : RenderingHints.VALUE_DITHER_DISABLE);
+			hints.put(RenderingHints.KEY_FRACTIONALMETRICS, smooth ? RenderingHints.VALUE_FRACTIONALMETRICS_ON : RenderingHints.VALUE_FRACTIONALMETRICS_OFF);
+			hints.put(RenderingHints.KEY_INTERPOLATION, smooth ? RenderingHints.VALUE_INTERPOLATION_BILINEAR : RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+			hints.put(RenderingHints.KEY_RENDERING, quality ? RenderingHints.VALUE_RENDER_QUALITY : smooth ? RenderingHints.VALUE_RENDER_DEFAULT : RenderingHints.VALUE_RENDER_SPEED);
+			hints.put(RenderingHints.KEY_STROKE_CONTROL, quality ? RenderingHints.VALUE_STROKE_PURE : RenderingHints.VALUE_STROKE_NORMALIZE);
+			hints.put(RenderingHints.KEY_TEXT_ANTIALIASING, quality ? RenderingHints.VALUE_TEXT_ANTIALIAS_LCD_HRGB : i < FASTEST ? RenderingHints.VALUE_TEXT_ANTIALIAS_ON : RenderingHints.VALUE_TEXT_ANTIALIAS_OFF);
+			hints.put(RenderingHints.KEY_RESOLUTION_VARIANT, RenderingHints.VALUE_RESOLUTION_VARIANT_DPI_FIT);
+
+			profiles.add(Collections.unmodifiableMap(hints));
+		}
+
+		return Collections.unmodifiableList(profiles);
+	}
+}
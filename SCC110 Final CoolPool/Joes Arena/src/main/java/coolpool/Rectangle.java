@@ -1,9 +1,13 @@
+package coolpool;
+
+import java.awt.*;
+
 /**
  * Models a simple, solid rectangle. 
  * This class represents a Rectabgle object. When combined with the GameArena class,
  * instances of the Rectangle class can be displayed on the screen.
  */
-public class Rectangle 
+public class Rectangle implements Drawable
 {
 	// The following instance variables define the
 	// information needed to represent a Rectangle
@@ -16,6 +20,8 @@ public class Rectangle
 	private double height;				// The height of this Rectangle
 	private int layer = 1;				// The layer of this ball is on.
 	private String colour;				// The colour of this Rectangle
+	private Color paletteColour;			// The colour of this Rectangle, as looked up in the Palette
+	private DrawList drawList;			// The DrawList holding this Rectangle, told whenever this Rectangle changes
 	private boolean active;
 
 										// Permissable colours are:
@@ -39,6 +45,7 @@ public class Rectangle
 		this.width = w;
 		this.height = h;
 		this.colour = col;
+		this.paletteColour = Palette.get(col);
 		this.layer = 0;
 	}	
 									
@@ -58,9 +65,25 @@ public class Rectangle
 		this.width = w;
 		this.height = h;
 		this.colour = col;
+		this.paletteColour = Palette.get(col);
 		this.layer = layer;
 	}	
 			
+	/**
+	 * Constructor. Creates a frozen copy of a Rectangle, as it is now.
+	 */
+	private Rectangle(Rectangle r)
+	{
+		this.xPosition = r.xPosition;
+		this.yPosition = r.yPosition;
+		this.width = r.width;
+		this.height = r.height;
+		this.colour = r.colour;
+		this.paletteColour = r.paletteColour;
+		this.layer = r.layer;
+		this.active = r.active;
+	}
+
 	/**
 	 * Obtains the current position of this Rectangle.
 	 * @return the X coordinate of this Rectangle within the GameArena.
@@ -86,6 +109,7 @@ public class Rectangle
 	public void setXPosition(double x)
 	{
 		this.xPosition = x;
+		this.changed();
 	}
 
 	/**
@@ -95,6 +119,7 @@ public class Rectangle
 	public void setYPosition(double y)
 	{
 		this.yPosition = y;
+		this.changed();
 	}
 
 	/**
@@ -113,6 +138,7 @@ public class Rectangle
 	public void setWidth(double w)
 	{
 		width = w;
+		this.changed();
 	}
 
 	/**
@@ -131,6 +157,7 @@ public class Rectangle
 	public void setHeight(double h)
 	{
 		height = h;
+		this.changed();
 	}
 
 	/**
@@ -158,6 +185,8 @@ public class Rectangle
 	public void setColour(String c)
 	{
 		colour = c;
+		paletteColour = Palette.get(c);
+		this.changed();
 	}
 
 	/**
@@ -170,6 +199,7 @@ public class Rectangle
 	{
 		xPosition += dx;
 		yPosition += dy;
+		this.changed();
 	}
 
 	/**
@@ -193,5 +223,61 @@ public class Rectangle
 	public boolean getActive()
 	{
 		return active;
-	}	
+	}
+
+	/**
+	 * Draws this Rectangle. Called by the GameArena it has been added to.
+	 * @param r the renderer to draw with.
+	 */
+	public void draw(Renderer r)
+	{
+		r.setColour(paletteColour);
+		r.getGraphics().fillRect((int)xPosition, (int)yPosition, (int)width, (int)height);
+	}
+
+	/**
+	 * Finds the area of the frame this Rectangle covers when it is drawn, with a pixel to spare on each side.
+	 * @param r the renderer the Rectangle will be drawn with.
+	 * @param bounds set to the area, in pixels.
+	 */
+	public void getBounds(Renderer r, java.awt.Rectangle bounds)
+	{
+		bounds.setBounds((int)xPosition - 1, (int)yPosition - 1, (int)width + 2, (int)height + 2);
+	}
+
+	/**
+	 * Makes a frozen copy of this Rectangle, as it is now.
+	 * @return the copy.
+	 */
+	public Drawable freeze()
+	{
+		return new Rectangle(this);
+	}
+
+	/**
+	 * Determines if this shape is drawn in a different place as the Renderer's blend changes, which a Rectangle never is.
+	 * @return false.
+	 */
+	public boolean isAnimated()
+	{
+		return false;
+	}
+
+	/**
+	 * Tells this Rectangle which DrawList it is held in, so that it can report changes to it. Called by DrawList.
+	 * @param list the list holding this Rectangle, or null if it has been removed.
+	 */
+	public void setDrawList(DrawList list)
+	{
+		drawList = list;
+	}
+
+	/**
+	 * Reports a change to this Rectangle to the DrawList holding it, if there is one.
+	 */
+	private void changed()
+	{
+		if (drawList != null)
+			drawList.changed(this);
+	}
 }
@@ -0,0 +1,188 @@
+package coolpool;
+
+import java.awt.*;
+import java.awt.geom.*;
+
+/**
+ * Draws shapes onto a Graphics2D for a GameArena. The Renderer remembers the colour and line width
+ * it last set, so a run of shapes that share a style changes the state of the graphics context only once.
+ * Strokes are kept for the last few line widths used, and lines and polygons are drawn through reused shapes,
+ * so drawing a frame does not allocate once every width has been seen.
+ */
+public class Renderer
+{
+	public static final int STROKES = 16;			// The most line widths to keep strokes for
+
+	private Graphics2D graphics;					// The graphics context being drawn on
+	private Color colour;							// The colour last set on the graphics context
+	private double lineWidth;						// The line width last set on the graphics context, or NaN if none has been
+	private TextCache text = new TextCache(256);	// The text drawn recently
+	private SpriteAtlas sprites = new SpriteAtlas(64);	// The balls drawn recently
+	private double blend = 1;						// How far moving balls are drawn between their last two positions
+	private double [] strokeWidths = new double[STROKES];	// The width of each kept stroke
+	private BasicStroke [] strokes = new BasicStroke[STROKES];	// The strokes kept, or null in unused entries
+	private int nextStroke;							// The entry the next new stroke replaces, once every entry is in use
+	private Line2D.Float line = new Line2D.Float();	// Reused for every line drawn
+	private Path2D.Float path = new Path2D.Float();	// Reused for every polygon drawn while antialiasing
+	private boolean antialiasing;					// Set if the graphics context antialiases shapes
+	private Font font;								// The font last set on the graphics context
+
+	/**
+	 * Starts drawing a frame onto the given graphics context, forgetting any state set on it before.
+	 * @param g the graphics context to draw on.
+	 */
+	public void begin(Graphics2D g)
+	{
+		graphics = g;
+		colour = null;
+		lineWidth = Double.NaN;
+		blend = 1;
+		font = null;
+		antialiasing = g.getRenderingHint(RenderingHints.KEY_ANTIALIASING) == RenderingHints.VALUE_ANTIALIAS_ON;
+		text.begin(g);
+		sprites.begin(g);
+	}
+
+	/**
+	 * Obtains the graphics context being drawn on.
+	 * @return the graphics context passed to begin().
+	 */
+	public Graphics2D getGraphics()
+	{
+		return graphics;
+	}
+
+	/**
+	 * Sets how far between their positions at the last two ticks of a shot moving balls are drawn.
+	 * @param blend 0 to draw them where they were at the previous tick, 1 to draw them where they are now.
+	 */
+	public void setBlend(double blend)
+	{
+		this.blend = Math.max(0, Math.min(1, blend));
+	}
+
+	/**
+	 * Obtains how far between their positions at the last two ticks of a shot moving balls are drawn.
+	 * @return from 0 to 1, which is the default set by begin().
+	 */
+	public double getBlend()
+	{
+		return blend;
+	}
+
+	/**
+	 * Sets the colour to draw with.
+	 * @param c the colour, as obtained from the Palette.
+	 */
+	public void setColour(Color c)
+	{
+		if (c == colour)
+			return;
+
+		graphics.setColor(c);
+		colour = c;
+	}
+
+	/**
+	 * Sets the font to draw text with.
+	 * @param f the font.
+	 */
+	public void setFont(Font f)
+	{
+		if (f == font)
+			return;
+
+		graphics.setFont(f);
+		font = f;
+	}
+
+	/**
+	 * Sets the width of the lines to draw.
+	 * @param width the width, in pixels.
+	 */
+	public void setLineWidth(double width)
+	{
+		if (width == lineWidth)
+			return;
+
+		graphics.setStroke(this.getStroke(width));
+		lineWidth = width;
+	}
+
+	/**
+	 * Draws a line with the current colour and line width.
+	 *
+	 * @param x1 the X coordinate of the start of the line.
+	 * @param y1 the Y coordinate of the start of the line.
+	 * @param x2 the X coordinate of the end of the line.
+	 * @param y2 the Y coordinate of the end of the line.
+	 */
+	public void drawLine(float x1, float y1, float x2, float y2)
+	{
+		line.setLine(x1, y1, x2, y2);
+		graphics.draw(line);
+	}
+
+	/**
+	 * Fills a polygon with the current colour.
+	 *
+	 * @param x the X coordinates of the corners.
+	 * @param y the Y coordinates of the corners.
+	 * @param n the number of corners.
+	 */
+	public void fillPolygon(int [] x, int [] y, int n)
+	{
+		// Graphics.fillPolygon() allocates when antialiasing, but rasterizes differently to fill() when it is not.
+		if (!antialiasing)
+		{
+			graphics.fillPolygon(x, y, n);
+			return;
+		}
+
+		path.reset();
+		path.moveTo(x[0], y[0]);
+
+		for (int i = 1; i < n; i++)
+			path.lineTo(x[i], y[i]);
+
+		path.closePath();
+		graphics.fill(path);
+	}
+
+	/**
+	 * Obtains the cache of pre-drawn text that Text objects are drawn from.
+	 * @return the text cache.
+	 */
+	public TextCache getTextCache()
+	{
+		return text;
+	}
+
+	/**
+	 * Obtains the atlas of pre-drawn discs that balls are drawn from.
+	 * @return the sprite atlas.
+	 */
+	public SpriteAtlas getSprites()
+	{
+		return sprites;
+	}
+
+	//
+	// Obtains a stroke of the given width, creating it only if none is kept for that width.
+	//
+	private BasicStroke getStroke(double width)
+	{
+		for (int i = 0; i < STROKES && strokes[i] != null; i++)
+		{
+			if (strokeWidths[i] == width)
+				return strokes[i];
+		}
+
+		BasicStroke stroke = new BasicStroke((float)width);
+		strokeWidths[nextStroke] = width;
+		strokes[nextStroke] = stroke;
+		nextStroke = (nextStroke + 1) % STROKES;
+
+		return stroke;
+	}
+}
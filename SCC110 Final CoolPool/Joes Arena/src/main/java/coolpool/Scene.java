@@ -0,0 +1,201 @@
+package coolpool;
+
+/**
+ * A snapshot of everything a GameArena draws, taken by DrawList.capture(). A Scene holds frozen copies of the shapes,
+ * so it never changes once it has been taken, and can be drawn on one thread while the game carries on changing
+ * the shapes on another. Layers that have not changed since the last snapshot share their items with it.
+ * Once the thread drawing scenes has released a later scene, the items only older scenes hold may be reused,
+ * so a scene should not be kept after that.
+ */
+public class Scene
+{
+	private int [] layers;					// The layer of each bucket, in ascending order
+	private boolean [] fixed;				// Set for each bucket whose layer is static
+	private Item [][] items;				// The shapes on each bucket's layer, in the order they are drawn
+	private boolean [] animated;			// Set for each bucket holding a shape that moves as the blend changes
+	private int staticVersion;				// The static version of the DrawList when this snapshot was taken
+	private long version;					// The version of the DrawList when this snapshot was taken
+	private long tickTime;					// The time of the last tick of the shot being played, from System.nanoTime()
+	private long tickLength;				// The time between ticks of the shot being played, or 0 if no shot is being played
+
+	/**
+	 * One shape in a Scene. As well as the frozen shape, an item holds the area it was last drawn over, which is
+	 * only used by the thread drawing scenes. An item is carried from one scene to the next for as long as its shape is unchanged.
+	 */
+	public static class Item
+	{
+		private Drawable shape;				// The frozen copy of the shape
+		private boolean moving;				// Set if the shape is drawn in a different place as the blend changes
+		int x, y, width, height;			// The area the shape was last drawn over
+		boolean shown;						// Set while the item is in the scene last drawn
+		boolean kept;						// Used while comparing scenes, to mark items that are in both
+
+		/**
+		 * Constructor. Creates an Item holding a frozen shape.
+		 * @param shape the frozen shape.
+		 */
+		public Item(Drawable shape)
+		{
+			this.shape = shape;
+			this.moving = shape.isAnimated();
+		}
+
+		/**
+		 * Fills this item with a new frozen shape, as if it had just been created. Called by DrawList,
+		 * once no scene being drawn still holds this item.
+		 *
+		 * @param shape the frozen shape.
+		 */
+		void reuse(Drawable shape)
+		{
+			this.shape = shape;
+			this.moving = shape.isAnimated();
+			this.shown = false;
+			this.kept = false;
+		}
+
+		/**
+		 * Obtains the frozen shape held in this item.
+		 * @return the shape.
+		 */
+		public Drawable getShape()
+		{
+			return shape;
+		}
+
+		/**
+		 * Determines if this item's shape is drawn in a different place as the blend changes.
+		 * @return true if the shape is moving during a shot, false otherwise.
+		 */
+		public boolean isMoving()
+		{
+			return moving;
+		}
+
+		/**
+		 * Determines if this item may cover any part of an area, going by the area it was last drawn over.
+		 *
+		 * @param ax the X coordinate of the left edge of the area.
+		 * @param ay the Y coordinate of the top edge of the area.
+		 * @param aw the width of the area.
+		 * @param ah the height of the area.
+		 * @return false if the item is known to lie outside the area, true otherwise.
+		 */
+		public boolean overlaps(int ax, int ay, int aw, int ah)
+		{
+			if (!shown)
+				return true;
+
+			return x < ax + aw && ax < x + width && y < ay + ah && ay < y + height;
+		}
+	}
+
+	/**
+	 * Constructor. Creates a Scene from the parts of a snapshot. Called by DrawList.
+	 */
+	Scene(int [] layers, boolean [] fixed, Item [][] items, boolean [] animated, int staticVersion, long version, long tickTime, long tickLength)
+	{
+		this.layers = layers;
+		this.fixed = fixed;
+		this.items = items;
+		this.animated = animated;
+		this.staticVersion = staticVersion;
+		this.version = version;
+		this.tickTime = tickTime;
+		this.tickLength = tickLength;
+	}
+
+	/**
+	 * Obtains the number of layers in this scene. Buckets are numbered from 0 in ascending layer order.
+	 * @return the number of buckets.
+	 */
+	public int getBucketCount()
+	{
+		return layers.length;
+	}
+
+	/**
+	 * Obtains the layer drawn from a bucket.
+	 * @param bucket the number of the bucket.
+	 * @return the layer.
+	 */
+	public int getLayer(int bucket)
+	{
+		return layers[bucket];
+	}
+
+	/**
+	 * Determines if a bucket's layer has been marked as static.
+	 * @param bucket the number of the bucket.
+	 * @return true if the layer is static, false otherwise.
+	 */
+	public boolean isStatic(int bucket)
+	{
+		return fixed[bucket];
+	}
+
+	/**
+	 * Determines if a bucket holds a shape that is drawn in a different place as the blend changes.
+	 * @param bucket the number of the bucket.
+	 * @return true if the bucket holds a moving ball, false otherwise.
+	 */
+	public boolean isAnimated(int bucket)
+	{
+		return animated[bucket];
+	}
+
+	/**
+	 * Obtains the items on a bucket's layer. The array is shared with other scenes, and must not be changed.
+	 * @param bucket the number of the bucket.
+	 * @return the items, in the order they are drawn.
+	 */
+	public Item [] getItems(int bucket)
+	{
+		return items[bucket];
+	}
+
+	/**
+	 * Obtains the number of shapes in this scene.
+	 * @return the number of shapes, over all layers.
+	 */
+	public int size()
+	{
+		int n = 0;
+
+		for (int b = 0; b < items.length; b++)
+			n += items[b].length;
+
+		return n;
+	}
+
+	/**
+	 * Obtains the static version of the DrawList when this snapshot was taken.
+	 * @return the static version.
+	 */
+	public int getStaticVersion()
+	{
+		return staticVersion;
+	}
+
+	/**
+	 * Obtains the version of the DrawList when this snapshot was taken.
+	 * @return the version of the scene.
+	 */
+	public long getVersion()
+	{
+		return version;
+	}
+
+	/**
+	 * Works out how far between their last two positions moving balls should be drawn at the given time.
+	 * @param now the time, from System.nanoTime().
+	 * @return from 0, at the last tick, to 1, at the next tick or whenever no shot is being played.
+	 */
+	public double getBlend(long now)
+	{
+		if (tickLength == 0)
+			return 1;
+
+		return Math.max(0, Math.min(1, (now - tickTime) / (double) tickLength));
+	}
+}
@@ -0,0 +1,71 @@
+package coolpool;
+
+/**
+ * Records something that happened during a shot: a collision between two balls,
+ * a ball being potted, or a foul being called.
+ */
+public class ShotEvent
+{
+	public enum Type { COLLISION, POT, FOUL }
+
+	private Type type;					// What happened
+	private int frame;					// The frame of the shot on which it happened
+	private int ball;					// The index of the ball involved, or -1 if none
+	private int otherBall;				// The index of the second ball in a collision, or -1 if none
+
+	/**
+	 * Constructor. Creates a ShotEvent with the given parameters.
+	 * @param type what happened.
+	 * @param frame the frame of the shot on which it happened.
+	 * @param ball the index of the ball involved, or -1 if none.
+	 * @param otherBall the index of the second ball in a collision, or -1 if none.
+	 */
+	public ShotEvent(Type type, int frame, int ball, int otherBall)
+	{
+		this.type = type;
+		this.frame = frame;
+		this.ball = ball;
+		this.otherBall = otherBall;
+	}
+
+	/**
+	 * Obtains the type of this event.
+	 * @return what happened.
+	 */
+	public Type getType()
+	{
+		return type;
+	}
+
+	/**
+	 * Obtains the frame this event happened on.
+	 * @return the frame of the shot on which this event happened.
+	 */
+	public int getFrame()
+	{
+		return frame;
+	}
+
+	/**
+	 * Obtains the ball involved in this event.
+	 * @return the index of the ball involved, or -1 if none.
+	 */
+	public int getBall()
+	{
+		return ball;
+	}
+
+	/**
+	 * Obtains the second ball involved in a collision.
+	 * @return the index of the second ball, or -1 if none.
+	 */
+	public int getOtherBall()
+	{
+		return otherBall;
+	}
+
+	public String toString()
+	{
+		return type + "@" + frame + "(" + ball + "," + otherBall + ")";
+	}
+}
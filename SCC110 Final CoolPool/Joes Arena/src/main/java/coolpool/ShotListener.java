@@ -0,0 +1,24 @@
+package coolpool;
+
+/**
+ * Receives the events raised by a ShotSimulator while a shot is being played.
+ * This is where the rules of the game are applied, so that the simulator itself
+ * only needs to know about the physics of the table.
+ */
+public interface ShotListener
+{
+	/**
+	 * Called after two balls have collided and been deflected off each other.
+	 * @param frame the frame of the shot on which the collision happened.
+	 * @param i the index of the first ball involved in the collision.
+	 * @param j the index of the second ball involved in the collision.
+	 */
+	public void collision(int frame, int i, int j);
+
+	/**
+	 * Called when a ball is found to be over a pocket.
+	 * @param frame the frame of the shot on which the ball was potted.
+	 * @param i the index of the ball that was potted.
+	 */
+	public void potted(int frame, int i);
+}
@@ -0,0 +1,104 @@
+package coolpool;
+
+import java.util.*;
+
+/**
+ * The outcome of a single shot played by a PoolGame: everything that happened during
+ * the shot, and what the rules decided as a result. The final position of the balls
+ * is left in the PoolGame that played the shot.
+ */
+public class ShotResult
+{
+	private ArrayList<ShotEvent> events = new ArrayList<ShotEvent>();
+	private int frames;					// The number of frames simulated
+	private long simulationTime;		// The time taken to simulate the shot, in nanoseconds
+	private boolean foul;				// True if the shot ended in a foul
+	private int nextPlayer;				// The player to take the next shot
+	private int winner;					// The player that won the game on this shot, or 0 if none
+
+	/**
+	 * Adds an event to the end of this result.
+	 * @param e the event to add.
+	 */
+	public void addEvent(ShotEvent e)
+	{
+		events.add(e);
+	}
+
+	/**
+	 * Obtains the events that happened during the shot, in the order they happened.
+	 * @return the list of events.
+	 */
+	public List<ShotEvent> getEvents()
+	{
+		return events;
+	}
+
+	/**
+	 * Counts the events of the given type.
+	 * @param type the type of event to count.
+	 * @return the number of events of that type.
+	 */
+	public int count(ShotEvent.Type type)
+	{
+		int n = 0;
+
+		for (int i = 0; i < events.size(); i++)
+		{
+			if (events.get(i).getType() == type)
+				n++;
+		}
+
+		return n;
+	}
+
+	public int getFrames()
+	{
+		return frames;
+	}
+
+	public void setFrames(int frames)
+	{
+		this.frames = frames;
+	}
+
+	public long getSimulationTime()
+	{
+		return simulationTime;
+	}
+
+	public void setSimulationTime(long simulationTime)
+	{
+		this.simulationTime = simulationTime;
+	}
+
+	public boolean getFoul()
+	{
+		return foul;
+	}
+
+	public void setFoul(boolean foul)
+	{
+		this.foul = foul;
+	}
+
+	public int getNextPlayer()
+	{
+		return nextPlayer;
+	}
+
+	public void setNextPlayer(int nextPlayer)
+	{
+		this.nextPlayer = nextPlayer;
+	}
+
+	public int getWinner()
+	{
+		return winner;
+	}
+
+	public void setWinner(int winner)
+	{
+		this.winner = winner;
+	}
+}
@@ -0,0 +1,350 @@
+package coolpool;
+
+/**
+ * Simulates a single shot on a pool table.
+ * Balls are moved in fixed frames with a linear deceleration, bounced off the cushions,
+ * deflected off each other and dropped into the pockets. The rules of the game are left
+ * to a ShotListener. This class has no dependency on Swing, so it can be used without a display.
+ */
+public class ShotSimulator
+{
+	protected double endFrame = 1000;		// The number of frames a shot lasts for
+	protected double leftCushion;			// The X coordinate balls bounce off the left cushion at
+	protected double rightCushion;			// The X coordinate balls bounce off the right cushion at
+	protected double topCushion;			// The Y coordinate balls bounce off the top cushion at
+	protected double bottomCushion;			// The Y coordinate balls bounce off the bottom cushion at
+	protected double [] pocketX;			// The X coordinate of each pocket
+	protected double [] pocketY;			// The Y coordinate of each pocket
+	protected double [] pocketSize;			// The diameter of each pocket
+	private CollisionGrid grid;				// Used to find touching balls on busy tables
+	private int gridThreshold = 64;			// The number of balls from which the grid is used instead of testing every pair
+	protected double restDistance = 0.5;	// A ball is at rest once it would travel less than this before the end of the shot
+	private boolean [] asleep = new boolean[0];	// True for each ball that is at rest, until something hits it
+	protected long framesSimulated;			// The number of frames simulated over every shot so far
+	private int frame;						// The number of frames played of the current shot
+
+	/**
+	 * Constructor. Creates a ShotSimulator for the given table.
+	 * @param cushions The cushions of the table, in the order top, left, bottom, right.
+	 * @param pocketCircles The pockets of the table.
+	 */
+	public ShotSimulator(Rectangle [] cushions, Ball [] pocketCircles)
+	{
+		topCushion = cushions[0].getYPosition() + cushions[0].getHeight();
+		leftCushion = cushions[1].getXPosition() + cushions[1].getWidth();
+		bottomCushion = cushions[2].getYPosition();
+		rightCushion = cushions[3].getXPosition();
+
+		grid = new CollisionGrid(leftCushion, topCushion, rightCushion, bottomCushion);
+
+		pocketX = new double[pocketCircles.length];
+		pocketY = new double[pocketCircles.length];
+		pocketSize = new double[pocketCircles.length];
+
+		for (int i = 0; i < pocketCircles.length; i++)
+		{
+			pocketX[i] = pocketCircles[i].getXPosition();
+			pocketY[i] = pocketCircles[i].getYPosition();
+			pocketSize[i] = pocketCircles[i].getSize();
+		}
+	}
+
+	/**
+	 * Plays out a shot, starting from the current position and speed of the balls in the given state.
+	 *
+	 * @param t the balls on the table. These are updated in place.
+	 * @param listener informed of every collision and pot, in the order they happen.
+	 * @return the number of frames simulated.
+	 */
+	public int simulate(TableState t, ShotListener listener)
+	{
+		this.begin(t);
+
+		while (this.step(t, listener))
+			;
+
+		return this.finish();
+	}
+
+	/**
+	 * Starts playing out a shot one frame at a time, from the current position and speed of the balls in the given state.
+	 * Call step() until it returns false, then finish(). Playing a shot this way gives exactly the same result as simulate().
+	 *
+	 * @param t the balls on the table.
+	 */
+	public void begin(TableState t)
+	{
+		int n = t.count;
+
+		if (asleep.length < n)
+			asleep = new boolean[n];
+
+		for (int i = 0; i < n; i++)
+			asleep[i] = t.vx[i] == 0 && t.vy[i] == 0;
+
+		frame = 0;
+	}
+
+	/**
+	 * Plays the next frame of a shot started with begin().
+	 *
+	 * @param t the balls on the table. These are updated in place.
+	 * @param listener informed of every collision and pot, in the order they happen.
+	 * @return true if a frame was played, false if the shot is over.
+	 */
+	public boolean step(TableState t, ShotListener listener)
+	{
+		double [] x = t.x;
+		double [] y = t.y;
+		double [] vx = t.vx;
+		double [] vy = t.vy;
+		double [] size = t.size;
+		int n = t.count;
+		int frames = frame;
+
+		if (frames == endFrame)
+			return false;
+
+		double deceleration = frames/endFrame;
+		double scale = 1 - deceleration;
+
+		// Puts balls that have all but stopped to rest, and ends the shot once every ball is at rest.
+		// A ball moving at speed v now travels v * (endFrame - frames) / 2 before the end of the shot.
+		double restSpeed = restDistance * 2 / (endFrame - frames);
+		boolean moving = false;
+
+		for (int i = 0; i < n; i++)
+		{
+			if (asleep[i])
+				continue;
+
+			double speed = scale * scale * (vx[i]*vx[i] + vy[i]*vy[i]);
+
+			if (speed < restSpeed * restSpeed)
+			{
+				vx[i] = 0;
+				vy[i] = 0;
+				asleep[i] = true;
+			}
+			else
+			{
+				moving = true;
+			}
+		}
+
+		if (!moving)
+			return false;
+
+		for (int i = 0; i < n; i++) // allows cushions to bounce
+		{
+			if (asleep[i])
+				continue;
+
+			if (t.isActive(i) && x[i] <= leftCushion || x[i] >= rightCushion)
+				vx[i] = -vx[i];
+
+			if (t.isActive(i) && y[i] <= topCushion || y[i] >= bottomCushion)
+				vy[i] = -vy[i];
+		}
+
+		if (n < gridThreshold) // detects collisions, testing every pair
+		{
+			for (int i = 0; i < n; i++)
+			{
+				if (!t.isActive(i))
+					continue;
+
+				for (int j = i + 1; j < n; j++)
+				{
+					if (asleep[i] && asleep[j])
+						continue;
+
+					if (t.isActive(j) && touching(t, i, j))
+						collide(t, i, j, frames, listener);
+				}
+			}
+		}
+		else // detects collisions, only testing balls in neighbouring cells of the grid
+		{
+			grid.build(t);
+			int [] neighbours = grid.getNeighbours();
+
+			for (int i = 0; i < n; i++)
+			{
+				int count = grid.findNeighbours(i);
+
+				for (int k = 0; k < count; k++)
+				{
+					int j = neighbours[k];
+
+					if (asleep[i] && asleep[j])
+						continue;
+
+					if (touching(t, i, j))
+						collide(t, i, j, frames, listener);
+				}
+			}
+		}
+
+		// moves balls at a speed depending on how many frames have passed.
+		// Balls that are not active or at rest have no speed, so there is no need to check for them here.
+		for (int i = 0; i < n; i++)
+		{
+			x[i] += vx[i] * scale;
+			y[i] += vy[i] * scale;
+		}
+
+		for (int i = 0; i < n; i++) // detects ball pot
+		{
+			if (asleep[i])
+				continue;
+
+			for (int j = 0; j < pocketX.length; j++)
+			{
+				double dx = pocketX[j] - x[i];
+				double dy = pocketY[j] - y[i];
+
+				if (t.isActive(i) && Math.sqrt(dx*dx+dy*dy) < size[i]/2 + pocketSize[j]/2)
+					listener.potted(frames, i);
+			}
+		}
+
+		frame++;
+		return true;
+	}
+
+	/**
+	 * Ends a shot played with step().
+	 * @return the number of frames simulated.
+	 */
+	public int finish()
+	{
+		framesSimulated += frame;
+		return frame;
+	}
+
+	/**
+	 * Obtains the number of frames played so far of the shot being played with step().
+	 * @return the number of frames.
+	 */
+	public int getFrame()
+	{
+		return frame;
+	}
+
+	/**
+	 * Obtains the number of frames simulated over every shot played by this simulator.
+	 * Shots end early once every ball is at rest, so this can be well under 1000 per shot.
+	 * @return the total number of frames simulated.
+	 */
+	public long getFramesSimulated()
+	{
+		return framesSimulated;
+	}
+
+	/**
+	 * Bounces two touching balls off each other, waking them if they were at rest.
+	 */
+	private void collide(TableState t, int i, int j, int frame, ShotListener listener)
+	{
+		deflect(t, i, j);
+		asleep[i] = false;
+		asleep[j] = false;
+		listener.collision(frame, i, j);
+	}
+
+	/**
+	 * Determines if two balls are overlapping. Compares squared distances, so no square root is needed.
+	 */
+	private boolean touching(TableState t, int i, int j)
+	{
+		double dx = t.x[j] - t.x[i];
+		double dy = t.y[j] - t.y[i];
+		double reach = t.size[i]/2 + t.size[j]/2;
+
+		return dx*dx + dy*dy < reach*reach;
+	}
+
+	/**
+	 * Updates the speed of two colliding balls, so that they bounce off each other.
+	 * Works entirely in local variables and allocates nothing, as it is called for every collision of every shot.
+	 * It performs the same floating point operations in the same order as the original vector-based version,
+	 * so the results are identical to it (a tolerance of 0 ulp).
+	 *
+	 * @param t the state holding the balls.
+	 * @param i the index of the first ball in the collision.
+	 * @param j the index of the second ball in the collision.
+	 */
+	public void deflect(TableState t, int i, int j)
+	{
+		double xPosition1, xPosition2, yPosition1, yPosition2;
+		double xSpeed1, xSpeed2, ySpeed1, ySpeed2;
+
+		xPosition1 = t.x[i];
+		yPosition1 = t.y[i];
+		xSpeed1 = t.vx[i];
+		ySpeed1 = t.vy[i];
+		xPosition2 = t.x[j];
+		yPosition2 = t.y[j];
+		xSpeed2 = t.vx[j];
+		ySpeed2 = t.vy[j];
+
+		// Calculate initial momentum of the balls... We assume unit mass here.
+		double p1InitialMomentum = Math.sqrt(xSpeed1 * xSpeed1 + ySpeed1 * ySpeed1);
+		double p2InitialMomentum = Math.sqrt(xSpeed2 * xSpeed2 + ySpeed2 * ySpeed2);
+		// Calculate Impact Vector, as a unit vector. Balls on top of each other are pushed apart along the x axis.
+		double impactX = xPosition2 - xPosition1;
+		double impactY = yPosition2 - yPosition1;
+		double impactLength = Math.sqrt(impactX * impactX + impactY * impactY);
+		double impactNormX = 1.0;
+		double impactNormY = 0.0;
+		if (impactLength != 0.0)
+		{
+			impactNormX = impactX / impactLength;
+			impactNormY = impactY / impactLength;
+		}
+		// Calculate scalar product of each trajectory and impact vector
+		double p1dotImpact = Math.abs(xSpeed1 * impactNormX + ySpeed1 * impactNormY);
+		double p2dotImpact = Math.abs(xSpeed2 * impactNormX + ySpeed2 * impactNormY);
+		// Calculate the deflection vectors - the amount of energy transferred from one ball to the other in each axis
+		double p1DeflectX = -impactNormX * p2dotImpact;
+		double p1DeflectY = -impactNormY * p2dotImpact;
+		double p2DeflectX = impactNormX * p1dotImpact;
+		double p2DeflectY = impactNormY * p1dotImpact;
+		// Calculate the final trajectories
+		double p1FinalX = xSpeed1 + p1DeflectX - p2DeflectX;
+		double p1FinalY = ySpeed1 + p1DeflectY - p2DeflectY;
+		double p2FinalX = xSpeed2 + p2DeflectX - p1DeflectX;
+		double p2FinalY = ySpeed2 + p2DeflectY - p1DeflectY;
+		// Calculate the final energy in the system.
+		double p1FinalMomentum = Math.sqrt(p1FinalX * p1FinalX + p1FinalY * p1FinalY);
+		double p2FinalMomentum = Math.sqrt(p2FinalX * p2FinalX + p2FinalY * p2FinalY);
+		// Scale the resultant trajectories if we've accidentally broken the laws of physics.
+		double mag = (p1InitialMomentum + p2InitialMomentum) / (p1FinalMomentum + p2FinalMomentum);
+		// Calculate the final x and y speed settings for the two balls after collision.
+		xSpeed1 = p1FinalX * mag;
+		ySpeed1 = p1FinalY * mag;
+		xSpeed2 = p2FinalX * mag;
+		ySpeed2 = p2FinalY * mag;
+
+		t.vx[i] = xSpeed1;
+		t.vy[i] = ySpeed1;
+		t.vx[j] = xSpeed2;
+		t.vy[j] = ySpeed2;
+
+		if (FlightEvents.COLLISION.isEnabled())
+			ShotSimulator.recordCollision(i, j, p1InitialMomentum + p2InitialMomentum);
+	}
+
+	/**
+	 * Raises a flight recorder event for a collision. Kept out of deflect(), so that it stays small enough to be inlined.
+	 */
+	private static void recordCollision(int i, int j, double speed)
+	{
+		FlightEvents.Collision event = new FlightEvents.Collision();
+		event.first = i;
+		event.second = j;
+		event.speed = speed;
+		event.commit();
+	}
+}
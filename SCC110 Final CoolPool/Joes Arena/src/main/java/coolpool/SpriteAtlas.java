@@ -0,0 +1,197 @@
+package coolpool;
+
+import java.awt.*;
+import java.awt.geom.*;
+import java.awt.image.*;
+import java.util.*;
+
+/**
+ * Holds pre-drawn images of solid discs, so that balls can be drawn with a single image blit instead of
+ * being rasterized every frame. Each disc is drawn at STEPS x STEPS sub-pixel offsets, so that a ball
+ * is blitted at its position to the nearest 1/STEPS of a pixel rather than snapping to whole pixels.
+ * Only the most recently used discs are kept.
+ */
+public class SpriteAtlas
+{
+	public static final int STEPS = 4;					// The number of sub-pixel positions for each disc, across and down a pixel
+	public static final double LARGEST = 64;			// Discs wider than this are not worth keeping images of
+
+	private int capacity;								// The most discs to keep
+	private LinkedHashMap<Key, Disc> discs;				// The discs kept, least recently used first
+	private RenderingHints hints;						// The rendering hints the discs were drawn with
+	private Object antialiasing;						// The antialiasing hint of the context the discs are drawn for
+	private Object rendering;							// The rendering hint of the context the discs are drawn for
+	private Object strokeControl;						// The stroke control hint of the context the discs are drawn for
+	private int generation;								// Increased every time the discs are thrown away
+	private Key probe = new Key(0, null);				// Reused to look discs up, so that finding one allocates nothing
+
+	/**
+	 * The diameter and colour of a disc.
+	 */
+	private static class Key
+	{
+		private double diameter;
+		private Color colour;
+
+		private Key(double diameter, Color colour)
+		{
+			this.diameter = diameter;
+			this.colour = colour;
+		}
+
+		public boolean equals(Object o)
+		{
+			return o instanceof Key && ((Key) o).diameter == diameter && ((Key) o).colour.equals(colour);
+		}
+
+		public int hashCode()
+		{
+			return Double.hashCode(diameter) * 31 + colour.hashCode();
+		}
+	}
+
+	/**
+	 * The images of one disc at each sub-pixel offset. Each image is only drawn the first time it is needed.
+	 */
+	public static class Disc
+	{
+		private double diameter;						// The diameter of this disc, in pixels
+		private Color colour;							// The colour of this disc
+		private RenderingHints hints;					// The rendering hints to draw this disc with
+		private int generation;							// The generation of the atlas this disc belongs to
+		private BufferedImage [] images = new BufferedImage[STEPS * STEPS];	// This disc at each offset, or null if not yet drawn
+
+		private Disc(double diameter, Color colour, RenderingHints hints, int generation)
+		{
+			this.diameter = diameter;
+			this.colour = colour;
+			this.hints = hints;
+			this.generation = generation;
+		}
+
+		/**
+		 * Determines if this disc can be used to draw a ball.
+		 *
+		 * @param diameter the diameter of the ball.
+		 * @param colour the colour of the ball.
+		 * @param atlas the atlas the ball is being drawn with.
+		 * @return true if this disc is the right size and colour and is still current in that atlas, false otherwise.
+		 */
+		public boolean matches(double diameter, Color colour, SpriteAtlas atlas)
+		{
+			return this.diameter == diameter && this.colour == colour && this.generation == atlas.generation;
+		}
+
+		/**
+		 * Draws this disc.
+		 *
+		 * @param g the graphics context to draw on.
+		 * @param left the X coordinate of the left edge of the disc.
+		 * @param top the Y coordinate of the top edge of the disc.
+		 */
+		public void draw(Graphics2D g, double left, double top)
+		{
+			double px = Math.floor(left);
+			double py = Math.floor(top);
+			int fx = (int)((left - px) * STEPS);
+			int fy = (int)((top - py) * STEPS);
+
+			BufferedImage image = images[fy * STEPS + fx];
+
+			if (image == null)
+			{
+				image = this.render(fx, fy);
+				images[fy * STEPS + fx] = image;
+			}
+
+			g.drawImage(image, (int)px - 1, (int)py - 1, null);
+		}
+
+		//
+		// Draws the disc into a transparent image, with a one pixel margin for the antialiased edge.
+		//
+		private BufferedImage render(int fx, int fy)
+		{
+			int side = (int)Math.ceil(diameter) + 3;
+			BufferedImage image = new BufferedImage(side, side, BufferedImage.TYPE_INT_ARGB_PRE);
+			Graphics2D g = image.createGraphics();
+
+			g.setRenderingHints(hints);
+			g.setColor(colour);
+			g.fill(new Ellipse2D.Double(1 + (double)fx / STEPS, 1 + (double)fy / STEPS, diameter, diameter));
+			g.dispose();
+
+			return image;
+		}
+	}
+
+	/**
+	 * Constructor. Creates an empty SpriteAtlas.
+	 * @param capacity The most discs to keep images of.
+	 */
+	public SpriteAtlas(int capacity)
+	{
+		this.capacity = capacity;
+		this.discs = new LinkedHashMap<Key, Disc>(16, 0.75f, true)
+		{
+			protected boolean removeEldestEntry(Map.Entry<Key, Disc> eldest)
+			{
+				return size() > SpriteAtlas.this.capacity;
+			}
+		};
+	}
+
+	/**
+	 * Prepares to draw onto a graphics context. If the context would draw discs differently to the one the
+	 * images were drawn for, because its rendering hints have changed, the images are thrown away.
+	 *
+	 * @param g the graphics context about to be drawn on.
+	 */
+	public void begin(Graphics2D g)
+	{
+		Object a = g.getRenderingHint(RenderingHints.KEY_ANTIALIASING);
+		Object r = g.getRenderingHint(RenderingHints.KEY_RENDERING);
+		Object s = g.getRenderingHint(RenderingHints.KEY_STROKE_CONTROL);
+
+		if (hints == null || a != antialiasing || r != rendering || s != strokeControl)
+		{
+			discs.clear();
+			hints = g.getRenderingHints();
+			antialiasing = a;
+			rendering = r;
+			strokeControl = s;
+			generation++;
+		}
+	}
+
+	/**
+	 * Obtains the images of a disc.
+	 *
+	 * @param diameter the diameter of the disc, which should be no more than LARGEST.
+	 * @param colour the colour of the disc.
+	 * @return the disc.
+	 */
+	public Disc get(double diameter, Color colour)
+	{
+		probe.diameter = diameter;
+		probe.colour = colour;
+		Disc d = discs.get(probe);
+
+		if (d == null)
+		{
+			d = new Disc(diameter, colour, hints, generation);
+			discs.put(new Key(diameter, colour), d);
+		}
+
+		return d;
+	}
+
+	/**
+	 * Obtains the number of discs in the atlas.
+	 * @return the number of discs.
+	 */
+	public int size()
+	{
+		return discs.size();
+	}
+}
@@ -0,0 +1,230 @@
+package coolpool;
+
+import java.awt.*;
+import java.awt.image.*;
+import java.util.*;
+
+/**
+ * Holds the static layers of a Scene drawn into images, so that shapes which rarely change are not drawn again every frame.
+ * Each run of consecutive static layers is held in its own image, which is drawn in place of those layers. A run that
+ * starts at the bottom layer also holds the cleared background, and is copied over the whole frame instead of clearing it.
+ * Other runs are transparent wherever nothing is drawn, so only the tiles of their image that have something on them are drawn.
+ * Every image is drawn again whenever the static version of the scenes changes.
+ */
+public class StaticLayerCache
+{
+	public static final int TILE = 64;					// The width and height of the tiles that images above the bottom one are drawn in
+
+	private int width;									// The width of the images, in pixels
+	private int height;									// The height of the images, in pixels
+	private BufferedImage [] images = new BufferedImage[0];	// The image of the run of static layers starting at each bucket, or null
+	private int [][] tiles = new int[0][];				// The tiles of each image above the bottom one that have something drawn on them
+	private int version;								// The static version of the scene the images were drawn from
+	private boolean valid;								// Set if the images are up to date
+	private java.awt.Rectangle clip = new java.awt.Rectangle();	// Reused to clip each area drawn
+
+	/**
+	 * Constructor. Creates an empty StaticLayerCache.
+	 * @param width The width of the frames being drawn, in pixels.
+	 * @param height The height of the frames being drawn, in pixels.
+	 */
+	public StaticLayerCache(int width, int height)
+	{
+		this.width = width;
+		this.height = height;
+	}
+
+	/**
+	 * Throws away the images, so that they are drawn again before they are next used.
+	 * This should be called if the way shapes are drawn changes, for example because the rendering hints have changed.
+	 */
+	public void invalidate()
+	{
+		valid = false;
+	}
+
+	/**
+	 * Draws the images again if any static layer has changed since they were last drawn.
+	 *
+	 * @param scene the scene being drawn.
+	 * @param r the renderer to draw it with. The renderer is left drawing on whatever it was drawing on before.
+	 * @param frame the graphics context that frames are drawn on, whose background and rendering hints are copied.
+	 */
+	public void update(Scene scene, Renderer r, Graphics2D frame)
+	{
+		if (valid && version == scene.getStaticVersion())
+			return;
+
+		int n = scene.getBucketCount();
+
+		if (images.length != n)
+		{
+			images = new BufferedImage[n];
+			tiles = new int[n][];
+		}
+
+		for (int bucket = 0; bucket < n; bucket++)
+		{
+			if (!scene.isStatic(bucket) || (bucket > 0 && scene.isStatic(bucket - 1)))
+			{
+				images[bucket] = null;
+				tiles[bucket] = null;
+				continue;
+			}
+
+			// The bottom run replaces the cleared frame, so it has the same type and background as the frame.
+			// Other runs are drawn over what is below them, so they start out transparent.
+			int type = bucket == 0 ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_ARGB_PRE;
+
+			if (images[bucket] == null || images[bucket].getType() != type)
+				images[bucket] = new BufferedImage(width, height, type);
+
+			Graphics2D g = images[bucket].createGraphics();
+			g.setRenderingHints(frame.getRenderingHints());
+
+			if (bucket == 0)
+			{
+				g.setBackground(frame.getBackground());
+				g.clearRect(0, 0, width, height);
+			}
+			else
+			{
+				g.setComposite(AlphaComposite.Clear);
+				g.fillRect(0, 0, width, height);
+				g.setComposite(AlphaComposite.SrcOver);
+			}
+
+			r.begin(g);
+
+			for (int b = bucket; b < n && scene.isStatic(b); b++)
+				StaticLayerCache.drawBucket(scene, b, r, 0, 0, width, height);
+
+			g.dispose();
+
+			if (bucket > 0)
+				tiles[bucket] = this.findTiles(images[bucket]);
+		}
+
+		r.begin(frame);
+		version = scene.getStaticVersion();
+		valid = true;
+	}
+
+	/**
+	 * Draws part of a frame. Dynamic layers are drawn shape by shape, skipping shapes that lie outside the area;
+	 * each run of static layers is drawn from its image. Nothing outside the area is changed.
+	 *
+	 * @param scene the scene to draw, whose damage has been collected by a DamageTracker.
+	 * @param r the renderer to draw it with, which should be drawing on the frame.
+	 * @param x the X coordinate of the left edge of the area to draw.
+	 * @param y the Y coordinate of the top edge of the area to draw.
+	 * @param w the width of the area to draw.
+	 * @param h the height of the area to draw.
+	 */
+	public void draw(Scene scene, Renderer r, int x, int y, int w, int h)
+	{
+		Graphics2D g = r.getGraphics();
+		int n = scene.getBucketCount();
+		int bucket = 0;
+
+		clip.setBounds(x, y, w, h);
+		g.setClip(clip);
+
+		if (n == 0 || !scene.isStatic(0))
+			g.clearRect(x, y, w, h);
+
+		while (bucket < n)
+		{
+			if (!scene.isStatic(bucket))
+			{
+				StaticLayerCache.drawBucket(scene, bucket, r, x, y, w, h);
+				bucket++;
+				continue;
+			}
+
+			if (bucket == 0)
+			{
+				g.setComposite(AlphaComposite.Src);
+				g.drawImage(images[0], x, y, x + w, y + h, x, y, x + w, y + h, null);
+				g.setComposite(AlphaComposite.SrcOver);
+			}
+			else
+			{
+				// Only draw the parts of the image that have something on them, and that lie in the area.
+				BufferedImage image = images[bucket];
+				int [] used = tiles[bucket];
+
+				for (int t = 0; t < used.length; t += 2)
+				{
+					int tx = used[t];
+					int ty = used[t + 1];
+
+					if (tx >= x + w || ty >= y + h || tx + TILE <= x || ty + TILE <= y)
+						continue;
+
+					int tw = Math.min(TILE, width - tx);
+					int th = Math.min(TILE, height - ty);
+
+					g.drawImage(image, tx, ty, tx + tw, ty + th, tx, ty, tx + tw, ty + th, null);
+				}
+			}
+
+			while (bucket < n && scene.isStatic(bucket))
+				bucket++;
+		}
+
+		g.setClip(null);
+	}
+
+	//
+	// Finds the tiles of a transparent image that are not completely transparent, as pairs of x and y coordinates.
+	//
+	private int [] findTiles(BufferedImage image)
+	{
+		int [] found = new int[0];
+		int count = 0;
+		int [] row = new int[TILE];
+
+		for (int y = 0; y < height; y += TILE)
+		{
+			for (int x = 0; x < width; x += TILE)
+			{
+				int w = Math.min(TILE, width - x);
+				boolean used = false;
+
+				for (int ty = y; ty < Math.min(y + TILE, height) && !used; ty++)
+				{
+					image.getRGB(x, ty, w, 1, row, 0, w);
+
+					for (int i = 0; i < w && !used; i++)
+						used = (row[i] >>> 24) != 0;
+				}
+
+				if (used)
+				{
+					if (count == found.length)
+						found = Arrays.copyOf(found, Math.max(16, count * 2));
+
+					found[count++] = x;
+					found[count++] = y;
+				}
+			}
+		}
+
+		return Arrays.copyOf(found, count);
+	}
+
+	//
+	// Draws every shape in one bucket that may cover part of an area, in order.
+	//
+	private static void drawBucket(Scene scene, int bucket, Renderer r, int x, int y, int w, int h)
+	{
+		Scene.Item [] items = scene.getItems(bucket);
+
+		for (int i = 0; i < items.length; i++)
+		{
+			if (items[i].overlaps(x, y, w, h))
+				items[i].getShape().draw(r);
+		}
+	}
+}
@@ -0,0 +1,133 @@
+package coolpool;
+
+/**
+ * Holds the physical state of the balls on a table in flat arrays, one entry per ball,
+ * so that a ShotSimulator can step through them without chasing object references.
+ * Balls added to a TableState become views onto it: their position, speed and
+ * active flag are read from and written to these arrays.
+ */
+public class TableState
+{
+	double [] x;						// The X coordinate of each ball
+	double [] y;						// The Y coordinate of each ball
+	double [] vx;						// The speed of each ball along the x axis
+	double [] vy;						// The speed of each ball along the y axis
+	double [] size;						// The diameter of each ball
+	long [] active;						// One bit per ball, set if that ball is still on the table
+	int count;							// The number of balls in this state
+	double [] lastX;					// The X coordinate of each ball at the previous tick of an animated shot
+	double [] lastY;					// The Y coordinate of each ball at the previous tick of an animated shot
+
+	/**
+	 * Constructor. Creates an empty TableState.
+	 * @param capacity The maximum number of balls this state can hold.
+	 */
+	public TableState(int capacity)
+	{
+		x = new double[capacity];
+		y = new double[capacity];
+		vx = new double[capacity];
+		vy = new double[capacity];
+		size = new double[capacity];
+		lastX = new double[capacity];
+		lastY = new double[capacity];
+		active = new long[(capacity + 63) / 64];
+	}
+
+	/**
+	 * Adds a Ball to this state. From then on, the Ball reads and writes its position,
+	 * speed and active flag through this state.
+	 *
+	 * @param b the ball to add.
+	 * @return the index of the ball in this state.
+	 */
+	public int add(Ball b)
+	{
+		int i = count++;
+
+		x[i] = b.getXPosition();
+		y[i] = b.getYPosition();
+		vx[i] = b.getSpeedX();
+		vy[i] = b.getSpeedY();
+		size[i] = b.getSize();
+		this.setActive(i, b.getActive());
+
+		b.attach(this, i);
+
+		return i;
+	}
+
+	/**
+	 * Obtains the number of balls in this state.
+	 * @return the number of balls.
+	 */
+	public int getCount()
+	{
+		return count;
+	}
+
+	/**
+	 * Determines if a ball is still on the table.
+	 * @param i the index of the ball.
+	 * @return true if the ball is active, false otherwise.
+	 */
+	public boolean isActive(int i)
+	{
+		return (active[i >> 6] & (1L << i)) != 0;
+	}
+
+	/**
+	 * Puts a ball on or takes it off the table. A ball taken off the table is also stopped,
+	 * so that the simulator can move every ball without checking which are active.
+	 *
+	 * @param i the index of the ball.
+	 * @param a true to make the ball active, false otherwise.
+	 */
+	public void setActive(int i, boolean a)
+	{
+		if (a)
+		{
+			active[i >> 6] |= 1L << i;
+		}
+		else
+		{
+			active[i >> 6] &= ~(1L << i);
+			vx[i] = 0;
+			vy[i] = 0;
+		}
+	}
+
+	public double getX(int i)
+	{
+		return x[i];
+	}
+
+	public double getY(int i)
+	{
+		return y[i];
+	}
+
+	public double getSpeedX(int i)
+	{
+		return vx[i];
+	}
+
+	public double getSpeedY(int i)
+	{
+		return vy[i];
+	}
+
+	public double getSize(int i)
+	{
+		return size[i];
+	}
+
+	/**
+	 * Remembers where every ball is, before the next tick of an animated shot moves them.
+	 */
+	public void keepPositions()
+	{
+		System.arraycopy(x, 0, lastX, 0, count);
+		System.arraycopy(y, 0, lastY, 0, count);
+	}
+}
@@ -1,10 +1,14 @@
+package coolpool;
+
+import java.awt.*;
+
 /**
  * Models a simple piece of text. 
  * This class represents a Text object. When combined with the GameArena class,
  * instances of the Text class can be displayed on the screen to show display
  * an appropriate piece of text.
  */
-public class Text
+public class Text implements Drawable
 {
 	// The following instance variables define the
 	// information needed to represent a line.
@@ -17,6 +21,9 @@ public class Text
 	private int layer;					// The layer this text is drawn on
 	private String text;				// The actual text to display
 	private String colour;				// The colour of this text
+	private Color paletteColour;			// The colour of this Text, as looked up in the Palette
+	private TextCache.Sprite sprite;	// The image this Text was last drawn from, or null if it has changed since
+	private DrawList drawList;			// The DrawList holding this Text, told whenever this Text changes
 
 										// Permissable colours are:
 										// BLACK, BLUE, CYAN, DARKGREY, GREY,
@@ -58,6 +65,8 @@ public class Text
 	public void setSize(int size)
 	{
 		this.size = size;
+		this.sprite = null;
+		this.changed();
 	}
 
 	/**
@@ -104,6 +113,7 @@ public class Text
 		this.size = size;
 		this.text = text;
 		this.colour = col;
+		this.paletteColour = Palette.get(col);
 		this.layer = layer;
 	}	
 
@@ -123,9 +133,25 @@ public class Text
 		this.size = size;
 		this.text = text;
 		this.colour = col;
+		this.paletteColour = Palette.get(col);
 		this.layer = 0;
 	}	
 
+	/**
+	 * Constructor. Creates a frozen copy of a piece of text, as it is now.
+	 */
+	private Text(Text t)
+	{
+		this.xPosition = t.xPosition;
+		this.yPosition = t.yPosition;
+		this.size = t.size;
+		this.text = t.text;
+		this.colour = t.colour;
+		this.paletteColour = t.paletteColour;
+		this.layer = t.layer;
+		this.sprite = t.sprite;
+	}
+
 	/**
 	 * Changes the text displayed to that given value
 	 * 
@@ -134,6 +160,8 @@ public class Text
 	public void setText(String text)
 	{
 		this.text = text;
+		this.sprite = null;
+		this.changed();
 	}
 
 	/**
@@ -144,6 +172,9 @@ public class Text
 	public void setColour(String colour)
 	{
 		this.colour = colour;
+		this.paletteColour = Palette.get(colour);
+		this.sprite = null;
+		this.changed();
 	}
 
 	/**
@@ -153,6 +184,7 @@ public class Text
 	public void setXPosition(double x)
 	{
 		this.xPosition = x;
+		this.changed();
 	}
 
 	/**
@@ -162,6 +194,75 @@ public class Text
 	public void setYPosition(double y)
 	{
 		this.yPosition = y;
+		this.changed();
 	}
 
+	/**
+	 * Draws this Text. Called by the GameArena it has been added to.
+	 * @param r the renderer to draw with.
+	 */
+	public void draw(Renderer r)
+	{
+		this.getSprite(r).draw(r.getGraphics(), xPosition, yPosition);
+	}
+
+	/**
+	 * Finds the area of the frame this Text covers when it is drawn, with two pixels to spare on each side.
+	 * @param r the renderer the Text will be drawn with.
+	 * @param bounds set to the area, in pixels.
+	 */
+	public void getBounds(Renderer r, java.awt.Rectangle bounds)
+	{
+		java.awt.Rectangle b = this.getSprite(r).getBounds();
+		bounds.setBounds(TextCache.round(xPosition) + b.x - 2, TextCache.round(yPosition) + b.y - 2, b.width + 4, b.height + 4);
+	}
+
+	/**
+	 * Makes a frozen copy of this Text, as it is now.
+	 * @return the copy.
+	 */
+	public Drawable freeze()
+	{
+		return new Text(this);
+	}
+
+	/**
+	 * Determines if this shape is drawn in a different place as the Renderer's blend changes, which a Text never is.
+	 * @return false.
+	 */
+	public boolean isAnimated()
+	{
+		return false;
+	}
+
+	/**
+	 * Tells this Text which DrawList it is held in, so that it can report changes to it. Called by DrawList.
+	 * @param list the list holding this Text, or null if it has been removed.
+	 */
+	public void setDrawList(DrawList list)
+	{
+		drawList = list;
+	}
+
+	//
+	// Obtains the image this Text is drawn from, finding it in the Renderer's text cache if it has changed since it was last drawn.
+	//
+	private TextCache.Sprite getSprite(Renderer r)
+	{
+		TextCache cache = r.getTextCache();
+
+		if (sprite == null || !sprite.matches(text, size, paletteColour, cache))
+			sprite = cache.get(text, size, paletteColour);
+
+		return sprite;
+	}
+
+	/**
+	 * Reports a change to this Text to the DrawList holding it, if there is one.
+	 */
+	private void changed()
+	{
+		if (drawList != null)
+			drawList.changed(this);
+	}
 }
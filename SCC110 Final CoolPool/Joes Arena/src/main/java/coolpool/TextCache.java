@@ -0,0 +1,217 @@
+package coolpool;
+
+import java.awt.*;
+import java.awt.font.*;
+import java.awt.image.*;
+import java.util.*;
+
+/**
+ * Holds pre-drawn images of recently drawn text, one for each piece of text, font size and colour, so that text is drawn
+ * with a single image blit instead of being laid out again every frame. Only the most recently used images are kept,
+ * so text that keeps changing, such as a turn counter, cannot grow the cache forever.
+ *
+ * The images are translucent, so where LCD text is asked for it is antialiased in shades of grey instead, as Java2D
+ * does for any translucent image. Text is placed to the nearest whole pixel.
+ */
+public class TextCache
+{
+	private int capacity;								// The most sprites to keep
+	private LinkedHashMap<Key, Sprite> sprites;			// The sprites kept, least recently used first
+	private HashMap<Integer, Font> fonts = new HashMap<Integer, Font>();	// The font for each size seen
+	private FontRenderContext context;					// The context the sprites were laid out in
+	private int generation;								// Increased every time the sprites are thrown away
+	private Key probe = new Key("", 0, null);			// Reused to look sprites up, so that finding one allocates nothing
+
+	/**
+	 * The text, font size and colour of a sprite.
+	 */
+	private static class Key
+	{
+		private String text;
+		private int size;
+		private Color colour;
+
+		private Key(String text, int size, Color colour)
+		{
+			this.text = text;
+			this.size = size;
+			this.colour = colour;
+		}
+
+		public boolean equals(Object o)
+		{
+			return o instanceof Key && ((Key) o).size == size && ((Key) o).colour.equals(colour) && ((Key) o).text.equals(text);
+		}
+
+		public int hashCode()
+		{
+			return (text.hashCode() * 31 + size) * 31 + colour.hashCode();
+		}
+	}
+
+	/**
+	 * The image of one piece of text, drawn in one font size and colour.
+	 */
+	public static class Sprite
+	{
+		private String text;							// The text drawn
+		private int size;								// The font size of the text
+		private Color colour;							// The colour of the text
+		private int generation;							// The generation of the cache this sprite belongs to
+		private java.awt.Rectangle bounds;				// The pixels the text covers when drawn at the origin
+		private BufferedImage image;					// The text, with a one pixel margin, or null if it covers no pixels
+
+		private Sprite(String text, int size, Color colour, Font font, FontRenderContext frc, int generation)
+		{
+			this.text = text;
+			this.size = size;
+			this.colour = colour;
+			this.generation = generation;
+			this.bounds = font.createGlyphVector(frc, text).getPixelBounds(null, 0, 0);
+
+			if (bounds.isEmpty())
+				return;
+
+			image = new BufferedImage(bounds.width + 2, bounds.height + 2, BufferedImage.TYPE_INT_ARGB_PRE);
+			Graphics2D g = image.createGraphics();
+
+			g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, frc.getAntiAliasingHint());
+			g.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS, frc.getFractionalMetricsHint());
+			g.setFont(font);
+			g.setColor(colour);
+			g.drawString(text, (float)(1 - bounds.x), (float)(1 - bounds.y));
+			g.dispose();
+		}
+
+		/**
+		 * Determines if this sprite can be used to draw a piece of text.
+		 *
+		 * @param text the text.
+		 * @param size the font size of the text.
+		 * @param colour the colour of the text.
+		 * @param cache the cache the text is being drawn with.
+		 * @return true if this sprite shows that text and is still current in that cache, false otherwise.
+		 */
+		public boolean matches(String text, int size, Color colour, TextCache cache)
+		{
+			return this.text.equals(text) && this.size == size && this.colour == colour && this.generation == cache.generation;
+		}
+
+		/**
+		 * Obtains the pixels the text covers when drawn at the origin.
+		 * @return the bounds, which are shared and must not be changed.
+		 */
+		public java.awt.Rectangle getBounds()
+		{
+			return bounds;
+		}
+
+		/**
+		 * Draws the text.
+		 *
+		 * @param g the graphics context to draw on.
+		 * @param x the X coordinate of the start of the text's baseline.
+		 * @param y the Y coordinate of the text's baseline.
+		 */
+		public void draw(Graphics2D g, double x, double y)
+		{
+			if (image != null)
+				g.drawImage(image, TextCache.round(x) + bounds.x - 1, TextCache.round(y) + bounds.y - 1, null);
+		}
+	}
+
+	/**
+	 * Constructor. Creates an empty TextCache.
+	 * @param capacity The most pieces of text to keep images of.
+	 */
+	public TextCache(int capacity)
+	{
+		this.capacity = capacity;
+		this.sprites = new LinkedHashMap<Key, Sprite>(16, 0.75f, true)
+		{
+			protected boolean removeEldestEntry(Map.Entry<Key, Sprite> eldest)
+			{
+				return size() > TextCache.this.capacity;
+			}
+		};
+	}
+
+	/**
+	 * Prepares to draw onto a graphics context. If the context lays text out differently to the one the
+	 * sprites were drawn for, for example because its rendering hints have changed, the sprites are thrown away.
+	 *
+	 * @param g the graphics context about to be drawn on.
+	 */
+	public void begin(Graphics2D g)
+	{
+		FontRenderContext frc = g.getFontRenderContext();
+
+		if (!frc.equals(context))
+		{
+			sprites.clear();
+			context = frc;
+			generation++;
+		}
+	}
+
+	/**
+	 * Obtains the bold SansSerif font of the given size, creating it if it has not been used before.
+	 * @param size the font size.
+	 * @return the font.
+	 */
+	public Font getFont(int size)
+	{
+		Font font = fonts.get(size);
+
+		if (font == null)
+		{
+			font = new Font("SansSerif", Font.BOLD, size);
+			fonts.put(size, font);
+		}
+
+		return font;
+	}
+
+	/**
+	 * Obtains the image of a piece of text, drawing it if it is not in the cache.
+	 *
+	 * @param text the text.
+	 * @param size the font size.
+	 * @param colour the colour of the text, as obtained from the Palette.
+	 * @return the sprite.
+	 */
+	public Sprite get(String text, int size, Color colour)
+	{
+		probe.text = text;
+		probe.size = size;
+		probe.colour = colour;
+		Sprite s = sprites.get(probe);
+
+		if (s == null)
+		{
+			s = new Sprite(text, size, colour, this.getFont(size), context, generation);
+			sprites.put(new Key(text, size, colour), s);
+		}
+
+		return s;
+	}
+
+	/**
+	 * Obtains the number of pieces of text in the cache.
+	 * @return the number of sprites.
+	 */
+	public int size()
+	{
+		return sprites.size();
+	}
+
+	/**
+	 * Finds the whole pixel text at the given coordinate is placed at.
+	 * @param v the coordinate.
+	 * @return the nearest whole pixel, rounding halves up.
+	 */
+	public static int round(double v)
+	{
+		return (int)Math.floor(v + 0.5);
+	}
+}
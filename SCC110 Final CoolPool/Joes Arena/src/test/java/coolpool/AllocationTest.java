@@ -0,0 +1,186 @@
+package coolpool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.*;
+
+/**
+ * Checks that PERCENTILE percent of the frames of the real pool table allocate no more than BUDGET bytes each once the arena
+ * has warmed up, counting the bytes allocated by the thread taking the snapshot with publish() and drawing it with paint().
+ * Three kinds of frame are checked: the whole table drawn again with nothing changed, the table while the cue is being aimed,
+ * and the table while a shot is being played, when every ball is frozen again on every tick. The shot is stepped
+ * one tick per frame on the test's own thread; the ticks themselves are not counted.
+ *
+ * Once its caches are warm, CoolPool's own code allocates little more than each Scene and the small arrays describing its layers.
+ * The rest of the budget covers what Java2D allocates inside the graphics context, such as a clip region for each damaged area.
+ * The few frames allowed over the budget are for drawing a new image of text that has changed, such as the turn counter.
+ */
+public class AllocationTest
+{
+	public static final long BUDGET = 2048;			// The most bytes a steady-state frame may allocate
+	public static final double PERCENTILE = 99;		// The share of frames, in percent, that must stay within the budget
+	private static final int WARMUP = 2000;			// The number of frames drawn before counting
+	private static final int FRAMES = 1000;			// The number of frames counted, which is also the most a shot can last
+	private static final int WIDTH = 1630;			// The width of the arena, which fits the real table
+	private static final int HEIGHT = 1000;			// The height of the arena
+	private static final double POWER = 12;			// The speed shots are played at, which keeps the balls moving for several hundred ticks
+	private static final double BREAK = 0.01;		// The direction of the break, which scatters the pack
+	private static final double SHOT = 3.34;		// The direction of the shot counted after the break, which pots nothing and hits several balls
+
+	private static com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+	private GameArena arena;
+	private BufferedImage screen;
+	private Graphics2D window;
+
+	@BeforeEach
+	public void createArena()
+	{
+		arena = GameArena.createOffscreen(WIDTH, HEIGHT);
+		arena.createBoard();
+		arena.setRenderQuality(QualityGovernor.QUALITY);
+		arena.publish();
+
+		screen = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+		window = screen.createGraphics();
+	}
+
+	@AfterEach
+	public void destroyArena()
+	{
+		window.dispose();
+		arena.exit();
+	}
+
+	@Test
+	public void wholeTableFrameStaysWithinBudget()
+	{
+		long [] allocated = new long[FRAMES];
+
+		for (int i = 0; i < WARMUP + FRAMES; i++)
+		{
+			arena.repaintAll();
+
+			long bytes = this.frame();
+
+			if (i >= WARMUP)
+				allocated[i - WARMUP] = bytes;
+		}
+
+		AllocationTest.check("whole table", allocated, FRAMES);
+	}
+
+	@Test
+	public void aimingFrameStaysWithinBudget()
+	{
+		long [] allocated = new long[FRAMES];
+
+		for (int i = 0; i < WARMUP + FRAMES; i++)
+		{
+			arena.rotateClockwise();
+
+			long bytes = this.frame();
+
+			if (i >= WARMUP)
+				allocated[i - WARMUP] = bytes;
+		}
+
+		AllocationTest.check("aiming", allocated, FRAMES);
+	}
+
+	@Test
+	public void shotFrameStaysWithinBudget()
+	{
+		long [] allocated = new long[FRAMES];
+		int frames = 0;
+
+		// The break warms the arena up, and scatters the pack so that the shot counted moves plenty of balls.
+		for (int i = 0; i < WARMUP; i++)
+			this.frame();
+
+		this.playShot(BREAK);
+
+		PoolGame pool = arena.getPoolGame();
+		ShotResult result = null;
+
+		synchronized (arena)
+		{
+			pool.getTableState().keepPositions();
+			pool.startShot(SHOT, POWER);
+		}
+
+		while (result == null)
+		{
+			result = this.tick();
+			allocated[frames++] = this.frame();
+		}
+
+		AllocationTest.check("shot", allocated, frames);
+	}
+
+	//
+	// Takes a snapshot of the arena and draws it, returning the number of bytes allocated doing so.
+	//
+	private long frame()
+	{
+		long before = threads.getCurrentThreadAllocatedBytes();
+		arena.publish();
+		arena.paint(window);
+		return threads.getCurrentThreadAllocatedBytes() - before;
+	}
+
+	//
+	// Plays the next tick of a shot, as the arena's GameLoop does.
+	//
+	private ShotResult tick()
+	{
+		synchronized (arena)
+		{
+			arena.getPoolGame().getTableState().keepPositions();
+			ShotResult result = arena.getPoolGame().stepShot();
+			arena.ballsMoved();
+
+			if (result != null)
+				arena.shotPlayed(result);
+
+			return result;
+		}
+	}
+
+	//
+	// Plays a whole shot, drawing a frame after every tick, including the last.
+	//
+	private void playShot(double angle)
+	{
+		synchronized (arena)
+		{
+			arena.getPoolGame().getTableState().keepPositions();
+			arena.getPoolGame().startShot(angle, POWER);
+		}
+
+		ShotResult result = null;
+
+		while (result == null)
+		{
+			result = this.tick();
+			this.frame();
+		}
+	}
+
+	//
+	// Fails if more than the share of frames allowed by PERCENTILE allocate more than the budget.
+	//
+	private static void check(String kind, long [] allocated, int frames)
+	{
+		long [] sorted = Arrays.copyOf(allocated, frames);
+		Arrays.sort(sorted);
+
+		long perFrame = sorted[(int)Math.ceil(frames * PERCENTILE / 100) - 1];
+		assertTrue(perFrame <= BUDGET, PERCENTILE + "% of " + kind + " frames allocate up to " + perFrame + " bytes each, over the budget of " + BUDGET + "; the most any frame allocates is " + sorted[frames - 1]);
+	}
+}
@@ -0,0 +1,95 @@
+package coolpool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.*;
+
+/**
+ * Checks the fouls called at the end of a shot. Each shot is started with no power, and the collisions that the
+ * simulator would report are made directly through the ShotListener methods before the shot is stepped to its end.
+ * Player 1 is on the reds, so the yellows at indexes 9 and 10 are the wrong colour for them.
+ */
+public class PoolGameTest
+{
+	private static final int WHITE = 0;			// The index of the white ball
+	private static final int RED = 2;			// The index of a red ball
+	private static final int YELLOW = 9;		// The index of a yellow ball
+	private static final int OTHER_YELLOW = 10;	// The index of another yellow ball
+
+	private PoolGame game;
+
+	@BeforeEach
+	public void assignColours()
+	{
+		game = new PoolGame();
+		game.getPlayer1().setColour("RED");
+		game.getPlayer2().setColour("YELLOW");
+		game.startShot(0, 0);
+	}
+
+	@Test
+	public void hittingTheWrongColourIsAFoul()
+	{
+		game.collision(5, WHITE, YELLOW);
+
+		ShotResult result = this.finish();
+
+		assertTrue(result.getFoul());
+		assertEquals(1, result.count(ShotEvent.Type.FOUL));
+		assertEquals(2, result.getNextPlayer());
+	}
+
+	@Test
+	public void hittingTheWrongColourTwiceCallsOneFoul()
+	{
+		game.collision(5, WHITE, YELLOW);
+		game.collision(9, WHITE, OTHER_YELLOW);
+
+		ShotResult result = this.finish();
+
+		assertTrue(result.getFoul());
+		assertEquals(1, result.count(ShotEvent.Type.FOUL));
+	}
+
+	@Test
+	public void foulEventsMatchTheFoulAfterALaterCollision()
+	{
+		game.collision(5, WHITE, YELLOW);
+		game.collision(9, YELLOW, OTHER_YELLOW);
+
+		ShotResult result = this.finish();
+
+		assertEquals(result.getFoul() ? 1 : 0, result.count(ShotEvent.Type.FOUL));
+	}
+
+	@Test
+	public void hittingTheRightColourIsNotAFoul()
+	{
+		game.collision(5, WHITE, RED);
+
+		ShotResult result = this.finish();
+
+		assertFalse(result.getFoul());
+		assertEquals(0, result.count(ShotEvent.Type.FOUL));
+		assertEquals(2, result.getNextPlayer());
+	}
+
+	@Test
+	public void missingEveryBallIsAFoul()
+	{
+		ShotResult result = this.finish();
+
+		assertTrue(result.getFoul());
+		assertEquals(1, result.count(ShotEvent.Type.FOUL));
+	}
+
+	//
+	// Steps the shot to its end, returning its result.
+	//
+	private ShotResult finish()
+	{
+		ShotResult result = game.stepShot();
+		assertNotNull(result, "a shot with no ball moving should end on its first frame");
+		return result;
+	}
+}
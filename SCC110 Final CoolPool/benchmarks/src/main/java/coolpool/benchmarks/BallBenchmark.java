@@ -0,0 +1,35 @@
+package coolpool.benchmarks;
+
+import coolpool.Ball;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures Ball.collides(), for a pair of balls that are touching and a pair that are not.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BallBenchmark
+{
+	private Ball white = new Ball(100, 100, 20, "WHITE");
+	private Ball touching = new Ball(110, 105, 20, "RED");
+	private Ball apart = new Ball(300, 300, 20, "RED");
+
+	@Benchmark
+	public boolean collidesTouching()
+	{
+		return white.collides(touching);
+	}
+
+	@Benchmark
+	public boolean collidesApart()
+	{
+		return white.collides(apart);
+	}
+}
@@ -0,0 +1,25 @@
+package coolpool.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the CoolPool benchmarks with the GC profiler switched on, so that every result reports
+ * the bytes allocated per operation (gc.alloc.rate.norm) and the allocation rate alongside its throughput.
+ * Takes the usual JMH command line options, for example:
+ *
+ *     java -jar benchmarks/target/benchmarks.jar Shot -f 1
+ */
+public class BenchmarkRunner
+{
+	public static void main(String[] args) throws Exception
+	{
+		CommandLineOptions commandLine = new CommandLineOptions(args);
+		Options options = new OptionsBuilder().parent(commandLine).addProfiler(GCProfiler.class).build();
+
+		new Runner(options).run();
+	}
+}
@@ -0,0 +1,68 @@
+package coolpool.benchmarks;
+
+import coolpool.GameArena;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures frames of the real pool table, as set up by GameArena.createBoard(), drawn by paint() into an offscreen image:
+ * the whole table, and the table while the cue is being aimed, where a snapshot of the moved trajectory line is published
+ * and only the area around it is drawn again.
+ * The arena has no thread of its own, so every frame is drawn by the benchmark's own call to paint().
+ * The rendering hints are pinned at the given quality level, as for PaintBenchmark.
+ * Frames are sampled, so JMH reports the p50/p90/p99/max frame time.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class BoardPaintBenchmark
+{
+	@Param({"0"})
+	public int quality;
+
+	private GameArena arena;
+	private BufferedImage screen;
+	private Graphics2D window;
+
+	@Setup
+	public void build()
+	{
+		arena = GameArena.createOffscreen(Scenes.WIDTH, Scenes.HEIGHT);
+		arena.createBoard();
+		arena.setRenderQuality(quality);
+		arena.publish();
+		screen = new BufferedImage(Scenes.WIDTH, Scenes.HEIGHT, BufferedImage.TYPE_INT_RGB);
+		window = screen.createGraphics();
+	}
+
+	@TearDown
+	public void close()
+	{
+		window.dispose();
+		arena.exit();
+	}
+
+	@Benchmark
+	public BufferedImage paint()
+	{
+		arena.repaintAll();
+		arena.paint(window);
+		return screen;
+	}
+
+	@Benchmark
+	public BufferedImage aim()
+	{
+		arena.rotateClockwise();
+		arena.publish();
+		arena.paint(window);
+		return screen;
+	}
+}
@@ -0,0 +1,101 @@
+package coolpool.benchmarks;
+
+import coolpool.Ball;
+import coolpool.CollisionGrid;
+import coolpool.TableState;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures how long it takes to find every pair of touching balls, by testing every pair and by using a
+ * CollisionGrid, for tables holding more and more balls. The balls are scattered at the same density on
+ * every table, so the time the grid takes should grow about linearly with the number of balls.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BroadPhaseBenchmark
+{
+	private static final double DIAMETER = 20;
+	private static final double DENSITY = 0.3;		// The fraction of the table covered by balls
+
+	@Param({"250", "1000", "4000", "16000"})
+	public int balls;
+
+	private TableState table;
+	private CollisionGrid grid;
+
+	@Setup
+	public void scatter()
+	{
+		Random random = new Random(balls);
+		double side = Math.sqrt(balls * Math.PI * DIAMETER * DIAMETER / 4 / DENSITY);
+
+		table = new TableState(balls);
+		grid = new CollisionGrid(0, 0, side, side);
+
+		for (int i = 0; i < balls; i++)
+		{
+			Ball b = new Ball(random.nextDouble() * side, random.nextDouble() * side, DIAMETER, "RED");
+			b.setActive(true);
+			table.add(b);
+		}
+
+		if (everyPair() != withGrid())
+			throw new IllegalStateException("The grid found a different number of pairs for " + balls + " balls");
+	}
+
+	@Benchmark
+	public int everyPair()
+	{
+		int pairs = 0;
+
+		for (int i = 0; i < balls; i++)
+		{
+			for (int j = i + 1; j < balls; j++)
+			{
+				if (touching(i, j))
+					pairs++;
+			}
+		}
+
+		return pairs;
+	}
+
+	@Benchmark
+	public int withGrid()
+	{
+		int pairs = 0;
+
+		grid.build(table);
+		int [] neighbours = grid.getNeighbours();
+
+		for (int i = 0; i < balls; i++)
+		{
+			int count = grid.findNeighbours(i);
+
+			for (int k = 0; k < count; k++)
+			{
+				if (touching(i, neighbours[k]))
+					pairs++;
+			}
+		}
+
+		return pairs;
+	}
+
+	private boolean touching(int i, int j)
+	{
+		double dx = table.getX(j) - table.getX(i);
+		double dy = table.getY(j) - table.getY(i);
+		double reach = table.getSize(i)/2 + table.getSize(j)/2;
+
+		return dx*dx + dy*dy < reach*reach;
+	}
+}
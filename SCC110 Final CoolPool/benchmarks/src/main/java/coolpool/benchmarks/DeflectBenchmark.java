@@ -0,0 +1,56 @@
+package coolpool.benchmarks;
+
+import coolpool.Ball;
+import coolpool.PoolGame;
+import coolpool.ShotSimulator;
+import coolpool.TableState;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the collision response in ShotSimulator.deflect(), for a white ball striking a stationary ball off-centre.
+ * Run through BenchmarkRunner, gc.alloc.rate.norm should be 0 B/op.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DeflectBenchmark
+{
+	private ShotSimulator simulator;
+	private TableState table;
+	private Ball white;
+	private Ball red;
+
+	@Setup
+	public void setup()
+	{
+		simulator = new PoolGame().getSimulator();
+		table = new TableState(2);
+		white = new Ball(400, 450, 20, "WHITE");
+		red = new Ball(418, 458, 20, "RED");
+		white.setActive(true);
+		red.setActive(true);
+		table.add(white);
+		table.add(red);
+	}
+
+	@Benchmark
+	public void deflect(Blackhole blackhole)
+	{
+		white.setSpeedX(3.5);
+		white.setSpeedY(0.4);
+		red.setSpeedX(0);
+		red.setSpeedY(0);
+
+		simulator.deflect(table, 0, 1);
+
+		blackhole.consume(table.getSpeedX(0));
+		blackhole.consume(table.getSpeedY(1));
+	}
+}
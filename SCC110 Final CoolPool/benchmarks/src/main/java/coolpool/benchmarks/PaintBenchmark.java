@@ -0,0 +1,66 @@
+package coolpool.benchmarks;
+
+import coolpool.GameArena;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures one whole frame drawn by GameArena.paint() into an offscreen image, with the arena's own RenderingHints,
+ * for generated scenes of up to the 100000 objects an arena supports. The arena is told to draw everything again
+ * before each frame, as nothing in these scenes moves and it would otherwise have nothing to draw.
+ *
+ * The rendering hints are pinned at the quality level given by the quality parameter, 0 by default for the best looking;
+ * pass -p quality=0,1,2,3 to compare the levels the quality governor steps through.
+ *
+ * Frames are sampled, so JMH reports the p50/p90/p99/max frame time; run through BenchmarkRunner, gc.alloc.rate.norm
+ * is the number of bytes allocated per frame. Building the 100000 object scenes takes a while.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class PaintBenchmark
+{
+	@Param({"1000", "10000", "100000"})
+	public int objects;
+
+	@Param({"mixed", "balls", "rectangles", "lines", "text"})
+	public String mix;
+
+	@Param({"0"})
+	public int quality;
+
+	private GameArena arena;
+	private BufferedImage screen;
+	private Graphics2D window;
+
+	@Setup
+	public void build()
+	{
+		arena = Scenes.build(mix, objects);
+		arena.setRenderQuality(quality);
+		screen = new BufferedImage(Scenes.WIDTH, Scenes.HEIGHT, BufferedImage.TYPE_INT_RGB);
+		window = screen.createGraphics();
+	}
+
+	@TearDown
+	public void close()
+	{
+		window.dispose();
+		arena.exit();
+	}
+
+	@Benchmark
+	public BufferedImage paint()
+	{
+		arena.repaintAll();
+		arena.paint(window);
+		return screen;
+	}
+}
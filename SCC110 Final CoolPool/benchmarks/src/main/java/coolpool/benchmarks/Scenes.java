@@ -0,0 +1,84 @@
+package coolpool.benchmarks;
+
+import coolpool.Ball;
+import coolpool.GameArena;
+import coolpool.Line;
+import coolpool.Rectangle;
+import coolpool.Text;
+
+import java.util.Random;
+
+/**
+ * Builds reproducible scenes of generated shapes in a GameArena that has no window, for the rendering benchmarks.
+ * The arena has no thread of its own either, so every frame is drawn by the benchmark's own call to paint().
+ */
+class Scenes
+{
+	static final int WIDTH = 1630;		// The size of the arena the game is played in
+	static final int HEIGHT = 1000;
+	static final int LAYERS = 4;		// Shapes are spread over this many layers
+
+	private static final String [] COLOURS = {"WHITE", "RED", "YELLOW", "BLACK", "BLUE", "GREEN", "ORANGE", "GREY", "#3A7D44", "#C0FFEE"};
+	private static final String [] WORDS = {"Player 1's turn", "Turn number = ", "42", "Power Bar", "Player 2 = RED", "wins!"};
+
+	/**
+	 * Fills a new GameArena with shapes.
+	 *
+	 * @param mix which shapes to generate: "mixed" for an even mix of all four, or one of "balls", "rectangles", "lines" or "text".
+	 * @param objects how many shapes to add.
+	 * @return the arena, which has no window or thread and must be drawn by calling paint(), with a snapshot of the shapes published.
+	 */
+	static GameArena build(String mix, int objects)
+	{
+		GameArena arena = GameArena.createOffscreen(WIDTH, HEIGHT);
+		Random random = new Random(objects);
+
+		for (int i = 0; i < objects; i++)
+		{
+			int kind = mix.equals("mixed") ? i % 4 : kindOf(mix);
+			int layer = random.nextInt(LAYERS);
+			String colour = COLOURS[random.nextInt(COLOURS.length)];
+			double x = random.nextDouble() * WIDTH;
+			double y = random.nextDouble() * HEIGHT;
+
+			if (kind == 0)
+			{
+				arena.addBall(new Ball(x, y, 10 + random.nextInt(21), colour, layer));
+			}
+			else if (kind == 1)
+			{
+				arena.addRectangle(new Rectangle(x, y, 5 + random.nextInt(60), 5 + random.nextInt(60), colour, layer));
+			}
+			else if (kind == 2)
+			{
+				double angle = random.nextDouble() * 2 * Math.PI;
+				double length = 20 + random.nextInt(200);
+				Line l = new Line(x, y, x + length * Math.cos(angle), y + length * Math.sin(angle), 1 + random.nextInt(3), colour, layer);
+
+				if (random.nextInt(4) == 0)
+					l.setArrowSize(5);
+
+				arena.addLine(l);
+			}
+			else
+			{
+				arena.addText(new Text(WORDS[random.nextInt(WORDS.length)], 12 + random.nextInt(20), x, y, colour, layer));
+			}
+		}
+
+		arena.publish();
+		return arena;
+	}
+
+	private static int kindOf(String mix)
+	{
+		switch (mix)
+		{
+			case "balls": return 0;
+			case "rectangles": return 1;
+			case "lines": return 2;
+			case "text": return 3;
+			default: throw new IllegalArgumentException("Unknown scene mix " + mix);
+		}
+	}
+}
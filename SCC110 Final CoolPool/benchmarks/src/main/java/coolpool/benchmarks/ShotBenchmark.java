@@ -0,0 +1,52 @@
+package coolpool.benchmarks;
+
+import coolpool.EventSimulator;
+import coolpool.PoolGame;
+import coolpool.ShotResult;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures a whole shot played by PoolGame.play() from the opening rack, which is what GameArena.play() runs
+ * when space is pressed. The gentle shot rolls the white into the pack at the lowest power that reaches it;
+ * the break shot hits it at full power. Both are measured with the fixed-frame and the event-driven simulators.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ShotBenchmark
+{
+	private static final double GENTLE_POWER = 200 * 0.001 * 6;	// a 200 pixel trajectory line with the power bar at 6, the lowest that reaches the pack
+	private static final double FULL_POWER = 200 * 0.001 * 20;		// a 200 pixel trajectory line with the power bar at 20
+
+	@Param({"frames", "events"})
+	public String simulator;
+
+	private PoolGame game;
+
+	@Setup(Level.Invocation)
+	public void rack()
+	{
+		game = new PoolGame();
+
+		if (simulator.equals("events"))
+			game.setSimulator(new EventSimulator(game.getCushions(), game.getPocketCircles()));
+	}
+
+	@Benchmark
+	public ShotResult gentleShot()
+	{
+		return game.play(0, GENTLE_POWER);
+	}
+
+	@Benchmark
+	public ShotResult breakShot()
+	{
+		return game.play(0, FULL_POWER);
+	}
+}